@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * {@link Log} discarding everything, so that benchmarks measure validation rather than console output.
+ * 
+ * @since 1.9
+ */
+public class SilentLog implements Log {
+
+  public boolean isDebugEnabled() {
+    return false;
+  }
+
+  public void debug(CharSequence content) {
+  }
+
+  public void debug(CharSequence content, Throwable error) {
+  }
+
+  public void debug(Throwable error) {
+  }
+
+  public boolean isInfoEnabled() {
+    return false;
+  }
+
+  public void info(CharSequence content) {
+  }
+
+  public void info(CharSequence content, Throwable error) {
+  }
+
+  public void info(Throwable error) {
+  }
+
+  public boolean isWarnEnabled() {
+    return false;
+  }
+
+  public void warn(CharSequence content) {
+  }
+
+  public void warn(CharSequence content, Throwable error) {
+  }
+
+  public void warn(Throwable error) {
+  }
+
+  public boolean isErrorEnabled() {
+    return false;
+  }
+
+  public void error(CharSequence content) {
+  }
+
+  public void error(CharSequence content, Throwable error) {
+  }
+
+  public void error(Throwable error) {
+  }
+}
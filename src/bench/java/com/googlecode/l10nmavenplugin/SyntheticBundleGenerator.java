@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+
+import com.googlecode.l10nmavenplugin.model.BundlePropertiesFile;
+import com.googlecode.l10nmavenplugin.model.PropertiesFile;
+import com.googlecode.l10nmavenplugin.model.Property;
+import com.googlecode.l10nmavenplugin.model.PropertyImpl;
+
+/**
+ * Generator of synthetic bundles of N keys x L locales, for benchmarking purpose.
+ * <p>
+ * The type of each resource is chosen randomly according to a configurable html/url/js/text mix, and its key follows
+ * the default naming conventions of the plugin so that it is routed to the matching validator. A few resources contain
+ * errors (malformed html, misspelled word), so that reporting is measured as well.
+ * <p>
+ * Generation is deterministic: the same parameters always produce the same bundles.
+ * 
+ * @since 1.9
+ */
+public class SyntheticBundleGenerator {
+
+  public enum Kind {
+    HTML(".text."), URL(".url."), JS(".js."), TEXT(".title.");
+
+    private final String keyInfix;
+
+    private Kind(String keyInfix) {
+      this.keyInfix = keyInfix;
+    }
+
+    public String getKeyInfix() {
+      return keyInfix;
+    }
+  }
+
+  public static final String BUNDLE_NAME = "Bundle";
+
+  private static final String[] LOCALES = { "en", "fr", "de", "es", "it", "nl", "pt", "sv", "da", "fi", "pl", "ja" };
+
+  private static final String[] WORDS = { "account", "address", "amount", "available", "basket", "billing", "cancel",
+      "change", "checkout", "confirm", "contact", "continue", "create", "customer", "delivery", "details", "discount",
+      "email", "error", "first", "free", "help", "home", "information", "invoice", "item", "last", "login", "message",
+      "name", "new", "number", "order", "page", "password", "payment", "phone", "please", "price", "product",
+      "quantity", "remove", "return", "save", "search", "select", "shipping", "sign", "status", "submit", "total",
+      "update", "valid", "your" };
+
+  private static final String MISSPELLED_WORD = "adress";
+
+  /**
+   * One resource out of ERROR_PERIOD contains an error
+   */
+  private static final int ERROR_PERIOD = 20;
+
+  private static final long SEED = 42L;
+
+  private final int nbKeys;
+
+  private final String[] locales;
+
+  private final double htmlRatio;
+
+  private final double urlRatio;
+
+  private final double jsRatio;
+
+  /**
+   * @param nbKeys
+   *          number of keys per bundle
+   * @param nbLocales
+   *          number of localized files per bundle, in addition to the root one
+   * @param htmlRatio
+   *          ratio of html resources
+   * @param urlRatio
+   *          ratio of url resources
+   * @param jsRatio
+   *          ratio of js resources, the remaining ones being text resources
+   */
+  public SyntheticBundleGenerator(int nbKeys, int nbLocales, double htmlRatio, double urlRatio, double jsRatio) {
+    if (nbLocales > LOCALES.length) {
+      throw new IllegalArgumentException("At most " + LOCALES.length + " locales are supported");
+    }
+    this.nbKeys = nbKeys;
+    this.locales = Arrays.copyOf(LOCALES, nbLocales);
+    this.htmlRatio = htmlRatio;
+    this.urlRatio = urlRatio;
+    this.jsRatio = jsRatio;
+  }
+
+  /**
+   * Generate the resources of a properties file.
+   * 
+   * @param locale
+   *          locale of the file, null for the root file
+   */
+  public Properties generate(String locale) {
+    Properties properties = new Properties();
+    // Same kinds of resources for all locales, but different values
+    Random kindRandom = new Random(SEED);
+    Random valueRandom = new Random(SEED + Arrays.asList(locales).indexOf(locale) + 1);
+
+    for (int i = 0; i < nbKeys; i++) {
+      Kind kind = nextKind(kindRandom);
+      boolean withError = (i % ERROR_PERIOD == ERROR_PERIOD - 1);
+      properties.put("key" + kind.getKeyInfix() + i, generateValue(kind, i, locale, withError, valueRandom));
+    }
+    return properties;
+  }
+
+  /**
+   * Generate the resources of all the files of a bundle, in memory.
+   * 
+   * @param kind
+   *          kind of resources to keep, null to keep all of them
+   */
+  public List<Property> generateProperties(Kind kind) {
+    List<Property> properties = new ArrayList<Property>();
+    for (PropertiesFile propertiesFile : generatePropertiesFiles()) {
+      for (String key : propertiesFile.getProperties().stringPropertyNames()) {
+        if (kind == null || key.contains(kind.getKeyInfix())) {
+          properties.add(new PropertyImpl(key, propertiesFile.getProperties().getProperty(key), propertiesFile));
+        }
+      }
+    }
+    return properties;
+  }
+
+  /**
+   * Generate all the files of a bundle, in memory.
+   */
+  public List<PropertiesFile> generatePropertiesFiles() {
+    List<PropertiesFile> propertiesFiles = new ArrayList<PropertiesFile>();
+    propertiesFiles.add(new BundlePropertiesFile(BUNDLE_NAME + ".properties", generate(null)));
+    for (String locale : locales) {
+      propertiesFiles.add(new BundlePropertiesFile(BUNDLE_NAME + "_" + locale + ".properties", generate(locale)));
+    }
+    return propertiesFiles;
+  }
+
+  /**
+   * Write bundles as .properties files.
+   * 
+   * @param directory
+   *          the folder where to write files
+   * @param nbBundles
+   *          number of bundles to write, all with the same resources
+   */
+  public void write(File directory, int nbBundles) throws IOException {
+    directory.mkdirs();
+    List<Properties> files = new ArrayList<Properties>();
+    files.add(generate(null));
+    for (String locale : locales) {
+      files.add(generate(locale));
+    }
+
+    for (int b = 0; b < nbBundles; b++) {
+      store(files.get(0), new File(directory, BUNDLE_NAME + b + ".properties"));
+      for (int l = 0; l < locales.length; l++) {
+        store(files.get(l + 1), new File(directory, BUNDLE_NAME + b + "_" + locales[l] + ".properties"));
+      }
+    }
+  }
+
+  /**
+   * Write a Jazzy dictionary per locale, containing all the words used in text except the misspelled one.
+   * <p>
+   * Root file is spellchecked in english, so an english dictionary is always written.
+   * 
+   * @param directory
+   *          the folder where to write .dic files
+   */
+  public void writeDictionaries(File directory) throws IOException {
+    directory.mkdirs();
+    Set<String> dictionaryLocales = new LinkedHashSet<String>(Arrays.asList(locales));
+    dictionaryLocales.add("en");
+
+    for (String locale : dictionaryLocales) {
+      PrintWriter writer = new PrintWriter(new File(directory, locale + ".dic"), "UTF-8");
+      try {
+        for (String word : WORDS) {
+          writer.println(word);
+        }
+      } finally {
+        writer.close();
+      }
+    }
+  }
+
+  private void store(Properties properties, File file) throws IOException {
+    OutputStream out = new FileOutputStream(file);
+    try {
+      properties.store(out, null);
+    } finally {
+      out.close();
+    }
+  }
+
+  private Kind nextKind(Random random) {
+    double r = random.nextDouble();
+    Kind kind;
+    if (r < htmlRatio) {
+      kind = Kind.HTML;
+    } else if (r < htmlRatio + urlRatio) {
+      kind = Kind.URL;
+    } else if (r < htmlRatio + urlRatio + jsRatio) {
+      kind = Kind.JS;
+    } else {
+      kind = Kind.TEXT;
+    }
+    return kind;
+  }
+
+  private String generateValue(Kind kind, int index, String locale, boolean withError, Random random) {
+    String value;
+    switch (kind) {
+    case HTML:
+      String tag = withError ? "<b>" : "<b>" + WORDS[random.nextInt(WORDS.length)] + "</b>";
+      value = "<p>" + sentence(random, withError) + " " + tag + " <a href=\"http://www.example.com/page" + index
+          + ".html\">{0}</a></p>";
+      break;
+    case URL:
+      value = "http://www.example.com/" + (locale == null ? "" : locale + "/") + "page" + index + ".html?id={0}";
+      if (withError) {
+        value = value.replace("http://", "http//");
+      }
+      break;
+    case JS:
+      value = sentence(random, withError) + (withError ? " \"quoted\"" : "");
+      break;
+    default:
+      value = sentence(random, withError) + " {0}";
+      break;
+    }
+    return value;
+  }
+
+  private String sentence(Random random, boolean withError) {
+    int nbWords = 4 + random.nextInt(5);
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < nbWords; i++) {
+      if (i > 0) {
+        sb.append(' ');
+      }
+      sb.append(WORDS[random.nextInt(WORDS.length)]);
+    }
+    if (withError) {
+      sb.append(' ').append(MISSPELLED_WORD);
+    }
+    return sb.toString();
+  }
+}
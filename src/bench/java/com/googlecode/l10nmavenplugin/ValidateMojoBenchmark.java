@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+
+/**
+ * End-to-end throughput of the validation of a directory, with all validators wired as in a plugin execution.
+ * 
+ * Csv generation is disabled, so that only validation is measured.
+ * 
+ * Validators are initialized again before each invocation, so that every measured run starts with cold caches, as a
+ * real build does. Initialization itself is not measured.
+ * 
+ * @since 1.9
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ValidateMojoBenchmark {
+
+  @Param({ "10" })
+  public int nbBundles;
+
+  @Param({ "500" })
+  public int nbKeys;
+
+  @Param({ "4" })
+  public int nbLocales;
+
+  /**
+   * Ratios of html, url and js resources, the remaining ones being text
+   */
+  @Param({ "0.4,0.2,0.2" })
+  public String mix;
+
+  @Param({ "1", "4" })
+  public int threads;
+
+  private File workDir;
+
+  private ValidateMojo mojo;
+
+  @Setup
+  public void setUp() throws IOException {
+    String[] ratios = mix.split(",");
+    SyntheticBundleGenerator generator = new SyntheticBundleGenerator(nbKeys, nbLocales,
+        Double.parseDouble(ratios[0]), Double.parseDouble(ratios[1]), Double.parseDouble(ratios[2]));
+
+    workDir = File.createTempFile("l10n-benchmark", "");
+    workDir.delete();
+    File propertyDir = new File(workDir, "properties");
+    File dictionaryDir = new File(workDir, "dictionaries");
+    generator.write(propertyDir, nbBundles);
+    generator.writeDictionaries(dictionaryDir);
+
+    mojo = new ValidateMojo();
+    mojo.setLog(new SilentLog());
+    mojo.setPropertyDir(propertyDir);
+    mojo.setDictionaryDir(dictionaryDir);
+    mojo.setXhtmlSchema(new File("xhtml1-transitional.xsd"));
+    mojo.setFormatter(ValidateMojo.MESSAGE_FORMAT_FORMATTER);
+    mojo.setReportsDir(null);
+    mojo.setThreads(threads);
+  }
+
+  @Setup(Level.Invocation)
+  public void initialize() {
+    mojo.initialize();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(workDir);
+  }
+
+  @Benchmark
+  public List<L10nReportItem> validate() throws MojoExecutionException {
+    List<L10nReportItem> reportItems = new ArrayList<L10nReportItem>();
+    mojo.validate(mojo.getPropertyDir(), reportItems);
+    return reportItems;
+  }
+}
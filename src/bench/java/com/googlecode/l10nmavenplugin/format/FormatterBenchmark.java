@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.format;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.googlecode.l10nmavenplugin.SyntheticBundleGenerator;
+import com.googlecode.l10nmavenplugin.ValidateMojo;
+import com.googlecode.l10nmavenplugin.model.Property;
+
+/**
+ * Throughput of the {@link Formatter} implementations, on a mix of all kinds of resources.
+ * 
+ * @since 1.9
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FormatterBenchmark {
+
+  @Param({ ValidateMojo.MESSAGE_FORMAT_FORMATTER, ValidateMojo.C_STYLE_FORMATTER })
+  public String formatterType;
+
+  @Param({ "1000" })
+  public int nbKeys;
+
+  private Formatter formatter;
+
+  private List<String> messages;
+
+  @Setup
+  public void setUp() {
+    boolean cStyle = ValidateMojo.C_STYLE_FORMATTER.equals(formatterType);
+    formatter = cStyle ? new CStyleFormatter() : new MessageFormatFormatter();
+
+    messages = new ArrayList<String>();
+    for (Property property : new SyntheticBundleGenerator(nbKeys, 0, 0.4, 0.2, 0.2).generateProperties(null)) {
+      String message = property.getMessage();
+      messages.add(cStyle ? message.replace("{0}", "%1$s") : message);
+    }
+  }
+
+  @Benchmark
+  public int isParametric() {
+    int nbParametric = 0;
+    for (String message : messages) {
+      if (formatter.isParametric(message)) {
+        nbParametric++;
+      }
+    }
+    return nbParametric;
+  }
+
+  @Benchmark
+  public int captureParameters() {
+    int nbParameters = 0;
+    for (String message : messages) {
+      nbParameters += formatter.captureParameters(message).size();
+    }
+    return nbParameters;
+  }
+
+  @Benchmark
+  public int defaultFormat() {
+    int length = 0;
+    for (String message : messages) {
+      length += formatter.defaultFormat(message).length();
+    }
+    return length;
+  }
+}
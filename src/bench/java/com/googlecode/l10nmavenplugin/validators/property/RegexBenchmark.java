@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.validators.property;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.googlecode.l10nmavenplugin.SyntheticBundleGenerator;
+import com.googlecode.l10nmavenplugin.format.InnerResourcesFormatter;
+import com.googlecode.l10nmavenplugin.model.Property;
+
+/**
+ * Regex based checks and substitutions applied to every resource, comparing the former String.replaceAll/matches
+ * versions with the precompiled and pre-filtered ones.
+ * 
+ * @since 1.9
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RegexBenchmark {
+
+  private static final String DATA_ATTRIBUTE_REGEX = "data-[-a-z0-9_:\\.]+=(\"[^\"]*\"|'[^\']*')";
+
+  private static final String INNER_RESOURCE_REGEX = "\\$\\{([A-Za-z0-9\\._]+)\\}";
+
+  @Param({ "100000" })
+  public int nbKeys;
+
+  private List<String> messages;
+
+  private InnerResourcesFormatter innerResourcesFormatter;
+
+  @Setup
+  public void setUp() {
+    messages = new ArrayList<String>();
+    for (Property property : new SyntheticBundleGenerator(nbKeys, 0, 0.4, 0.2, 0.2).generateProperties(null)) {
+      messages.add(property.getMessage());
+    }
+    innerResourcesFormatter = new InnerResourcesFormatter(INNER_RESOURCE_REGEX);
+  }
+
+  @Benchmark
+  public int detectHtmlAndUrlLegacy() {
+    int nbMatches = 0;
+    for (String message : messages) {
+      if (message.matches("^.*\\<[^>]+>.*$") || message.matches("^.*(?://|mailto).*$")) {
+        nbMatches++;
+      }
+    }
+    return nbMatches;
+  }
+
+  @Benchmark
+  public int detectHtmlAndUrl() {
+    int nbMatches = 0;
+    for (String message : messages) {
+      if (PlainTextValidator.isHtml(message) || PlainTextValidator.isUrl(message)) {
+        nbMatches++;
+      }
+    }
+    return nbMatches;
+  }
+
+  @Benchmark
+  public int substituteLegacy() {
+    int length = 0;
+    for (String message : messages) {
+      length += message.replaceAll("''", "'").replaceAll(DATA_ATTRIBUTE_REGEX, "").length();
+    }
+    return length;
+  }
+
+  @Benchmark
+  public int substitute() {
+    int length = 0;
+    for (String message : messages) {
+      String formattedMessage = StringUtils.replace(message, "''", "'");
+      if (formattedMessage.indexOf("data-") >= 0) {
+        formattedMessage = HtmlValidator.DATA_ATTRIBUTE_PATTERN.matcher(formattedMessage).replaceAll("");
+      }
+      length += formattedMessage.length();
+    }
+    return length;
+  }
+
+  @Benchmark
+  public int detectInnerResourcesLegacy() {
+    int nbMatches = 0;
+    for (String message : messages) {
+      if (message.matches("(?s)^.*" + INNER_RESOURCE_REGEX + ".*$")) {
+        nbMatches++;
+      }
+    }
+    return nbMatches;
+  }
+
+  @Benchmark
+  public int detectInnerResources() {
+    int nbMatches = 0;
+    for (String message : messages) {
+      if (innerResourcesFormatter.hasInnerResources(message)) {
+        nbMatches++;
+      }
+    }
+    return nbMatches;
+  }
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.validators.property;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.googlecode.l10nmavenplugin.SilentLog;
+import com.googlecode.l10nmavenplugin.SyntheticBundleGenerator;
+import com.googlecode.l10nmavenplugin.SyntheticBundleGenerator.Kind;
+import com.googlecode.l10nmavenplugin.log.L10nValidatorLogger;
+import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+import com.googlecode.l10nmavenplugin.model.Property;
+
+/**
+ * Throughput of {@link SpellCheckValidator} on text resources, using a dictionary per locale.
+ * 
+ * @since 1.9
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SpellCheckValidatorBenchmark {
+
+  @Param({ "1000" })
+  public int nbKeys;
+
+  @Param({ "4" })
+  public int nbLocales;
+
+  private File dictionaryDir;
+
+  private SpellCheckValidator spellCheckValidator;
+
+  private List<Property> properties;
+
+  @Setup
+  public void setUp() throws IOException {
+    SyntheticBundleGenerator generator = new SyntheticBundleGenerator(nbKeys, nbLocales, 0, 0, 0);
+    properties = generator.generateProperties(Kind.TEXT);
+
+    dictionaryDir = File.createTempFile("dictionaries", "");
+    dictionaryDir.delete();
+    generator.writeDictionaries(dictionaryDir);
+
+    spellCheckValidator = new SpellCheckValidator(new L10nValidatorLogger(new SilentLog()), dictionaryDir);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(dictionaryDir);
+  }
+
+  @Benchmark
+  public List<L10nReportItem> validate() {
+    List<L10nReportItem> reportItems = new ArrayList<L10nReportItem>();
+    for (Property property : properties) {
+      spellCheckValidator.validate(property, reportItems);
+    }
+    return reportItems;
+  }
+}
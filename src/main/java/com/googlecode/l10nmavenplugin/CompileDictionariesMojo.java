@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.Reader;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.filefilter.SuffixFileFilter;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import com.googlecode.l10nmavenplugin.model.spellcheck.BinaryDictionaryWriter;
+
+/**
+ * Convert plain text .dic dictionaries into the binary format used for SpellCheck validation.
+ * 
+ * Binary dictionaries are memory mapped instead of being parsed at each build, and are used by the validation in place
+ * of .dic files of the same name when up to date. They are build output, written under the build directory rather than
+ * next to the .dic sources.
+ * 
+ * @since 1.9
+ */
+@Mojo(name = "compile-dictionaries", threadSafe = true)
+public class CompileDictionariesMojo extends AbstractMojo {
+
+  /**
+   * Directory containing .dic dictionaries to convert.
+   * 
+   * @since 1.9
+   */
+  @Parameter(defaultValue = "src/main/resources")
+  private File dictionaryDir;
+
+  /**
+   * Directory where to write binary dictionaries. The default is the location where validation looks for them, cf
+   * parameter binaryDictionaryDir of the validate goal.
+   * 
+   * @since 1.9
+   */
+  @Parameter(defaultValue = "${project.build.directory}/l10n-dictionaries")
+  private File outputDir;
+
+  /**
+   * Flag allowing to skip plugin execution for a particular build.
+   * 
+   * @since 1.9
+   */
+  @Parameter(defaultValue = "${l10n.skip}")
+  private boolean skip;
+
+  public void execute() throws MojoExecutionException {
+    if (skip) {
+      getLog().info("Skipping plugin execution, as per configuration.");
+      return;
+    }
+
+    File[] files = dictionaryDir.listFiles((FilenameFilter) new SuffixFileFilter(".dic"));
+    if (files == null || files.length == 0) {
+      getLog().warn("No dictionary file under folder " + dictionaryDir.getAbsolutePath());
+      return;
+    }
+    if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+      throw new MojoExecutionException("Could not create directory " + outputDir.getAbsolutePath());
+    }
+
+    for (File file : files) {
+      File target = new File(outputDir, FilenameUtils.getBaseName(file.getName()) + "."
+          + BinaryDictionaryWriter.EXTENSION);
+      getLog().info("Converting file <" + file.getName() + "> to <" + target.getName() + ">");
+      try {
+        convert(file, target);
+      } catch (IOException e) {
+        throw new MojoExecutionException("Could not convert dictionary " + file.getAbsolutePath(), e);
+      }
+    }
+  }
+
+  /**
+   * The word list is read with the platform encoding, as done by Jazzy for .dic files.
+   */
+  private void convert(File file, File target) throws IOException {
+    BinaryDictionaryWriter writer = new BinaryDictionaryWriter();
+    Reader reader = new FileReader(file);
+    try {
+      writer.addWords(reader);
+    } finally {
+      IOUtils.closeQuietly(reader);
+    }
+    writer.write(target);
+  }
+
+  public void setDictionaryDir(File dictionaryDir) {
+    this.dictionaryDir = dictionaryDir;
+  }
+
+  public void setOutputDir(File outputDir) {
+    this.outputDir = outputDir;
+  }
+
+  public void setSkip(boolean skip) {
+    this.skip = skip;
+  }
+}
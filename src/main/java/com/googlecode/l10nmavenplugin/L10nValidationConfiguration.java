@@ -63,6 +63,10 @@ public interface L10nValidationConfiguration {
 
   File getDictionaryDir();
 
+  void setBinaryDictionaryDir(File binaryDictionaryDir);
+
+  File getBinaryDictionaryDir();
+
   void setSkip(boolean skip);
 
   boolean getSkip();
@@ -74,4 +78,16 @@ public interface L10nValidationConfiguration {
   String getFormatter();
 
   String getInnerResourceRegex();
+
+  int getThreads();
+
+  boolean getIncremental();
+
+  File getCacheDir();
+
+  boolean getSpellcheckSuggestions();
+
+  boolean getJsonReport();
+
+  String getPluginVersion();
 }
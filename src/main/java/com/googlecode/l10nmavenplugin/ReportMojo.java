@@ -10,8 +10,6 @@
 package com.googlecode.l10nmavenplugin;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
@@ -25,7 +23,7 @@ import org.apache.maven.reporting.AbstractMavenReport;
 import org.apache.maven.reporting.MavenReportException;
 
 import com.googlecode.l10nmavenplugin.format.Formatter;
-import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+import com.googlecode.l10nmavenplugin.report.BoundedReportSink;
 import com.googlecode.l10nmavenplugin.report.L10nReportRenderer;
 
 /**
@@ -119,6 +117,15 @@ public class ReportMojo extends AbstractMavenReport implements L10nValidationCon
   @Parameter
   private File dictionaryDir;
 
+  /**
+   * Directory containing binary dictionaries generated by the compile-dictionaries goal. A binary dictionary is used
+   * in place of the .dic file of the same name in dictionaryDir, when up to date.
+   * 
+   * @since 1.9
+   */
+  @Parameter(defaultValue = "${project.build.directory}/l10n-dictionaries")
+  private File binaryDictionaryDir;
+
   /**
    * 
    * Type of {@link Formatter} used for parametric replacement.
@@ -165,6 +172,50 @@ public class ReportMojo extends AbstractMavenReport implements L10nValidationCon
   @Parameter
   private String innerResourceRegex;
 
+  /**
+   * Number of threads used to validate bundles in parallel.
+   * 
+   * @see {@link ValidateMojo}
+   * 
+   * @since 1.9
+   */
+  @Parameter(defaultValue = "1")
+  private int threads = 1;
+
+  /**
+   * Replay validation results of bundles unchanged since last validation.
+   * 
+   * @see {@link ValidateMojo}
+   * 
+   * @since 1.9
+   */
+  @Parameter(defaultValue = "false")
+  private boolean incremental = false;
+
+  /**
+   * Directory where validation results are cached if incremental is true, as the report goal has no reportsDir.
+   * 
+   * @since 1.9
+   */
+  @Parameter(defaultValue = "${project.build.directory}/l10n-cache")
+  private File cacheDir;
+
+  /**
+   * Maximum number of items of each type displayed in the report. Items are still all counted in the summary.
+   * 
+   * @since 1.9
+   */
+  @Parameter(defaultValue = "1000")
+  private int maxReportItemsPerType = 1000;
+
+  /**
+   * Version of the plugin, so that cached validation results are not replayed after an upgrade.
+   * 
+   * @since 1.9
+   */
+  @Parameter(defaultValue = "${plugin.version}", readonly = true)
+  private String pluginVersion;
+
   /**
    * Entry point for the plugin report goal
    * 
@@ -172,7 +223,7 @@ public class ReportMojo extends AbstractMavenReport implements L10nValidationCon
    */
   @Override
   protected void executeReport(Locale locale) throws MavenReportException {
-    List<L10nReportItem> reportItems = new ArrayList<L10nReportItem>();
+    BoundedReportSink reportSink = new BoundedReportSink(maxReportItemsPerType);
 
     ValidateMojo validateMojo = new ValidateMojo(this);
     validateMojo.setLog(getLog());
@@ -180,14 +231,15 @@ public class ReportMojo extends AbstractMavenReport implements L10nValidationCon
     int nbErrors = 0;
 
     try {
-      nbErrors = validateMojo.validate(propertyDir, reportItems);
+      nbErrors = validateMojo.validate(propertyDir, reportSink);
 
     } catch (MojoExecutionException e) {
       throw new MavenReportException("Could not exceute ValidateMojo", e);
     }
 
     reportRenderer = new L10nReportRenderer(getSink(), getBundle(locale));
-    reportRenderer.setReportItems(reportItems);
+    reportRenderer.setReportItems(reportSink.getReportItems());
+    reportRenderer.setItemCounts(reportSink.getCounts());
     reportRenderer.setNbErrors(nbErrors);
     reportRenderer.render();
   }
@@ -322,6 +374,14 @@ public class ReportMojo extends AbstractMavenReport implements L10nValidationCon
     this.dictionaryDir = dictionaryDir;
   }
 
+  public File getBinaryDictionaryDir() {
+    return binaryDictionaryDir;
+  }
+
+  public void setBinaryDictionaryDir(File binaryDictionaryDir) {
+    this.binaryDictionaryDir = binaryDictionaryDir;
+  }
+
   public void setSkip(boolean skip) {
     // Ignored for reporting
   }
@@ -352,4 +412,58 @@ public class ReportMojo extends AbstractMavenReport implements L10nValidationCon
     return innerResourceRegex;
   }
 
+  public int getThreads() {
+    return threads;
+  }
+
+  public void setThreads(int threads) {
+    this.threads = threads;
+  }
+
+  public boolean getIncremental() {
+    return incremental;
+  }
+
+  public void setIncremental(boolean incremental) {
+    this.incremental = incremental;
+  }
+
+  public File getCacheDir() {
+    return cacheDir;
+  }
+
+  public void setCacheDir(File cacheDir) {
+    this.cacheDir = cacheDir;
+  }
+
+  /**
+   * Suggestions are computed by the report renderer, only for the items it displays
+   * 
+   * @return false
+   */
+  public boolean getSpellcheckSuggestions() {
+    return false;
+  }
+
+  /**
+   * Items are rendered by the report itself
+   * 
+   * @return false
+   */
+  public boolean getJsonReport() {
+    return false;
+  }
+
+  public String getPluginVersion() {
+    return pluginVersion;
+  }
+
+  public int getMaxReportItemsPerType() {
+    return maxReportItemsPerType;
+  }
+
+  public void setMaxReportItemsPerType(int maxReportItemsPerType) {
+    this.maxReportItemsPerType = maxReportItemsPerType;
+  }
+
 }
@@ -10,10 +10,12 @@
 package com.googlecode.l10nmavenplugin;
 
 import java.io.File;
-import java.util.ArrayList;
+import java.io.FilenameFilter;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 
+import org.apache.commons.io.filefilter.SuffixFileFilter;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -23,21 +25,29 @@ import org.apache.maven.plugins.annotations.Parameter;
 
 import com.googlecode.l10nmavenplugin.format.Formatter;
 import com.googlecode.l10nmavenplugin.format.InnerResourcesFormatter;
+import com.googlecode.l10nmavenplugin.format.MessageAnalysisCache;
 import com.googlecode.l10nmavenplugin.log.L10nValidatorLogger;
 import com.googlecode.l10nmavenplugin.model.L10nReportItem;
 import com.googlecode.l10nmavenplugin.model.Property;
 import com.googlecode.l10nmavenplugin.model.PropertyFamily;
+import com.googlecode.l10nmavenplugin.model.spellcheck.BinaryDictionaryWriter;
+import com.googlecode.l10nmavenplugin.report.CountingReportSink;
+import com.googlecode.l10nmavenplugin.report.JsonLinesReportSink;
+import com.googlecode.l10nmavenplugin.report.ListReportSink;
+import com.googlecode.l10nmavenplugin.report.ReportSink;
 import com.googlecode.l10nmavenplugin.validators.L10nValidationException;
 import com.googlecode.l10nmavenplugin.validators.L10nValidator;
+import com.googlecode.l10nmavenplugin.validators.PropertiesKeyClassifier;
+import com.googlecode.l10nmavenplugin.validators.StreamingL10nValidator;
 import com.googlecode.l10nmavenplugin.validators.family.HtmlTagCoherenceValidator;
 import com.googlecode.l10nmavenplugin.validators.family.IdenticalTranslationValidator;
 import com.googlecode.l10nmavenplugin.validators.family.MissingTranslationValidator;
 import com.googlecode.l10nmavenplugin.validators.family.ParametricCoherenceValidator;
-import com.googlecode.l10nmavenplugin.validators.file.DuplicateKeysValidator;
 import com.googlecode.l10nmavenplugin.validators.orchestrator.DirectoryValidator;
 import com.googlecode.l10nmavenplugin.validators.orchestrator.PropertiesFamilyValidator;
 import com.googlecode.l10nmavenplugin.validators.orchestrator.PropertyFamilyValidator;
 import com.googlecode.l10nmavenplugin.validators.orchestrator.PropertyValidator;
+import com.googlecode.l10nmavenplugin.validators.orchestrator.ValidationCache;
 import com.googlecode.l10nmavenplugin.validators.property.DefaultValidator;
 import com.googlecode.l10nmavenplugin.validators.property.HtmlValidator;
 import com.googlecode.l10nmavenplugin.validators.property.JsValidator;
@@ -94,6 +104,11 @@ public class ValidateMojo extends AbstractMojo implements L10nValidationConfigur
 
   public static final String C_STYLE_FORMATTER = "C-style";
 
+  /**
+   * Name of the file, under reportsDir, listing all report items as JSON Lines if jsonReport is true.
+   */
+  public static final String JSON_LINES_REPORT = "l10n-report.jsonl";
+
   /**
    * Directory containing properties file to check.
    * <p>
@@ -192,6 +207,15 @@ public class ValidateMojo extends AbstractMojo implements L10nValidationConfigur
   @Parameter
   private File dictionaryDir;
 
+  /**
+   * Directory containing binary dictionaries generated by the compile-dictionaries goal. A binary dictionary is used
+   * in place of the .dic file of the same name in dictionaryDir, when up to date.
+   * 
+   * @since 1.9
+   */
+  @Parameter(defaultValue = "${project.build.directory}/l10n-dictionaries")
+  private File binaryDictionaryDir;
+
   /**
    * Flag allowing to skip plugin exceution for a particular build.
    * 
@@ -229,7 +253,65 @@ public class ValidateMojo extends AbstractMojo implements L10nValidationConfigur
   @Parameter
   private String innerResourceRegex;
 
-  private L10nValidator<File> directoryValidator;
+  /**
+   * Number of threads used to validate bundles in parallel. Default is 1, i.e. bundles are validated sequentially.
+   * 
+   * @since 1.9
+   */
+  @Parameter(defaultValue = "1")
+  private int threads = 1;
+
+  /**
+   * Replay validation results of bundles unchanged since last validation, instead of validating them again.
+   * <p>
+   * Results are cached under cacheDir, keyed by the content of the bundle files and the plugin configuration.
+   * 
+   * @since 1.9
+   */
+  @Parameter(defaultValue = "false")
+  private boolean incremental = false;
+
+  /**
+   * Directory where validation results are cached if incremental is true. Defaults to the cache folder under reportsDir.
+   * 
+   * @since 1.9
+   */
+  @Parameter
+  private File cacheDir;
+
+  /**
+   * Suggest a correction of the messages with spellcheck errors. Default is true.
+   * <p>
+   * Computing suggestions (edit distance search in dictionaries) is much more expensive than detecting errors, so
+   * builds only interested in misspelled words can disable it. The report goal computes them only for the items it
+   * displays.
+   * 
+   * @since 1.9
+   */
+  @Parameter(defaultValue = "true")
+  private boolean spellcheckSuggestions = true;
+
+  /**
+   * Write all report items, with their values, to reportsDir/l10n-report.jsonl.
+   * <p>
+   * Disabled by default, as this is extra disk I/O on every build: items are then only counted.
+   * 
+   * @since 1.9
+   */
+  @Parameter(defaultValue = "false")
+  private boolean jsonReport = false;
+
+  /**
+   * Version of the plugin, so that cached validation results are not replayed after an upgrade.
+   * 
+   * @since 1.9
+   */
+  @Parameter(defaultValue = "${plugin.version}", readonly = true)
+  private String pluginVersion;
+
+  private StreamingL10nValidator<File> directoryValidator;
+
+  private SpellCheckValidator spellCheckValidator;
 
   private L10nValidatorLogger logger;
 
@@ -258,9 +340,16 @@ public class ValidateMojo extends AbstractMojo implements L10nValidationConfigur
     setCustomPatterns(configuration.getCustomPatterns());
     setExcludedKeys(configuration.getExcludedKeys());
     setDictionaryDir(configuration.getDictionaryDir());
+    setBinaryDictionaryDir(configuration.getBinaryDictionaryDir());
     setReportsDir(configuration.getReportsDir());
     setFormatter(configuration.getFormatter());
     setInnerResourceRegex(configuration.getInnerResourceRegex());
+    setThreads(configuration.getThreads());
+    setIncremental(configuration.getIncremental());
+    setCacheDir(configuration.getCacheDir());
+    setSpellcheckSuggestions(configuration.getSpellcheckSuggestions());
+    setJsonReport(configuration.getJsonReport());
+    setPluginVersion(configuration.getPluginVersion());
 
     // Not useful, but for the sake of completeness
     setIgnoreFailure(configuration.getIgnoreFailure());
@@ -281,7 +370,8 @@ public class ValidateMojo extends AbstractMojo implements L10nValidationConfigur
       // Default to propertyDir
       dictionaryDir = propertyDir;
     }
-    L10nValidator<Property> spellCheckValidator = new SpellCheckValidator(logger, dictionaryDir);
+    spellCheckValidator = new SpellCheckValidator(logger, dictionaryDir, binaryDictionaryDir);
+    spellCheckValidator.setSuggestions(spellcheckSuggestions);
 
     FormattingValidator formattingValidator;
     if (C_STYLE_FORMATTER.equalsIgnoreCase(formatter)) {
@@ -289,13 +379,18 @@ public class ValidateMojo extends AbstractMojo implements L10nValidationConfigur
     } else {
       formattingValidator = new MessageFormatFormattingValidator(logger);
     }
-    Formatter formatter = formattingValidator.getFormatter();
-
     InnerResourcesFormattingValidator innerResourcesValidator = new InnerResourcesFormattingValidator(logger,
         innerResourceRegex);
     InnerResourcesFormatter innerResourceFormatter = innerResourcesValidator.getFormatter();
 
-    L10nValidator<Property> htmlValidator;
+    // Share the parsing of messages between all validators
+    MessageAnalysisCache messageAnalysisCache = new MessageAnalysisCache(formattingValidator.getFormatter(),
+        innerResourceFormatter);
+    formattingValidator.setFormatter(messageAnalysisCache);
+    innerResourcesValidator.setMessageAnalysisCache(messageAnalysisCache);
+    Formatter formatter = messageAnalysisCache;
+
+    HtmlValidator htmlValidator;
     if (xhtmlSchema != null) {
       htmlValidator = new HtmlValidator(xhtmlSchema, logger, spellCheckValidator, htmlKeys, formatter,
           innerResourceFormatter);
@@ -303,29 +398,40 @@ public class ValidateMojo extends AbstractMojo implements L10nValidationConfigur
       htmlValidator = new HtmlValidator(logger, spellCheckValidator, htmlKeys, formatter, innerResourceFormatter);
     }
 
-    L10nValidator<Property> jsValidator = new JsValidator(jsDoubleQuoted, htmlValidator, logger, jsKeys);
-    L10nValidator<Property> urlValidator = new UrlValidator(logger, urlKeys, formatter);
-    L10nValidator<Property> plainTextValidator = new PlainTextValidator(logger, spellCheckValidator, textKeys);
+    JsValidator jsValidator = new JsValidator(jsDoubleQuoted, htmlValidator, logger, jsKeys);
+    UrlValidator urlValidator = new UrlValidator(logger, urlKeys, formatter);
+    PlainTextValidator plainTextValidator = new PlainTextValidator(logger, spellCheckValidator, textKeys);
     L10nValidator<Property> defaultValidator = new DefaultValidator(logger, htmlKeys, urlKeys);
 
     L10nValidator<Property> trailingWhitespaceValidator = new TrailingWhitespaceValidator(logger);
     L10nValidator<PropertyFamily> missingTranslationValidator = new MissingTranslationValidator(logger);
     L10nValidator<PropertyFamily> parametricCoherenceValidator = new ParametricCoherenceValidator(logger, formatter);
     L10nValidator<PropertyFamily> identicalTranslationValidator = new IdenticalTranslationValidator(logger);
-    L10nValidator<PropertyFamily> htmlTagCoherenceValidator = new HtmlTagCoherenceValidator(logger, htmlKeys);
+    HtmlTagCoherenceValidator htmlTagCoherenceValidator = new HtmlTagCoherenceValidator(logger, htmlKeys);
+    htmlTagCoherenceValidator.setMessageAnalysisCache(messageAnalysisCache);
 
     // L10nValidator<PropertiesFamily> duplicationValidator = new DuplicationValidator(logger);
 
-    L10nValidator<Property>[] patternValidators = null;
+    // Classify keys against all naming conventions at once
+    PropertiesKeyClassifier keyClassifier = new PropertiesKeyClassifier();
+    htmlValidator.setKeyClassifier(keyClassifier);
+    jsValidator.setKeyClassifier(keyClassifier);
+    urlValidator.setKeyClassifier(keyClassifier);
+    plainTextValidator.setKeyClassifier(keyClassifier);
+    htmlTagCoherenceValidator.setKeyClassifier(keyClassifier);
+
+    PatternValidator[] patternValidators = null;
     if (customPatterns != null) { // Initialize custom pattern validators
       patternValidators = new PatternValidator[customPatterns.length];
       for (int i = 0; i < customPatterns.length; i++) {
         CustomPattern pattern = customPatterns[i];
         patternValidators[i] = new PatternValidator(logger, pattern);
+        patternValidators[i].setKeyClassifier(keyClassifier);
       }
     }
 
     PropertyValidator propertyValidator = new PropertyValidator(logger, excludedKeys);
+    propertyValidator.setKeyClassifier(keyClassifier);
     propertyValidator.setPatternValidators(patternValidators);
     propertyValidator.setDefaultValidator(defaultValidator);
     propertyValidator.setHtmlValidator(htmlValidator);
@@ -337,6 +443,7 @@ public class ValidateMojo extends AbstractMojo implements L10nValidationConfigur
     propertyValidator.setInnerResourcesValidator(innerResourcesValidator);
 
     PropertyFamilyValidator propertyFamilyValidator = new PropertyFamilyValidator(logger, excludedKeys);
+    propertyFamilyValidator.setKeyClassifier(keyClassifier);
     propertyFamilyValidator.setHtmlTagCoherenceValidator(htmlTagCoherenceValidator);
     propertyFamilyValidator.setIdenticalTranslationValidator(identicalTranslationValidator);
     propertyFamilyValidator.setMissingTranslationValidator(missingTranslationValidator);
@@ -345,8 +452,62 @@ public class ValidateMojo extends AbstractMojo implements L10nValidationConfigur
 
     PropertiesFamilyValidator propertiesFamilyValidator = new PropertiesFamilyValidator(logger, reportsDir,
         propertyFamilyValidator);
-    L10nValidator<File> duplicateKeysValidator = new DuplicateKeysValidator(logger, propertyDir);
-    directoryValidator = new DirectoryValidator(logger, propertiesFamilyValidator, duplicateKeysValidator);
+    DirectoryValidator bundlesValidator = new DirectoryValidator(logger, propertiesFamilyValidator, threads);
+    if (cacheDir == null && reportsDir != null) {
+      // Default to reportsDir
+      cacheDir = new File(reportsDir, "cache");
+    }
+    if (incremental && cacheDir != null) {
+      ValidationCache validationCache = new ValidationCache(logger, cacheDir, getConfigurationFingerprint());
+      validationCache.setSpellCheckerRepository(spellCheckValidator.getSpellCheckerRepository());
+      bundlesValidator.setValidationCache(validationCache);
+    }
+    directoryValidator = bundlesValidator;
+  }
+
+  /**
+   * Description of the plugin version and of the configuration affecting validation results, used to invalidate cached
+   * results.
+   * 
+   * Files are described by their name, size and last modification date rather than by their content.
+   */
+  protected String getConfigurationFingerprint() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("pluginVersion=").append(pluginVersion).append('\n');
+    sb.append("excludedKeys=").append(Arrays.toString(excludedKeys)).append('\n');
+    sb.append("jsKeys=").append(Arrays.toString(jsKeys)).append('\n');
+    sb.append("jsDoubleQuoted=").append(jsDoubleQuoted).append('\n');
+    sb.append("urlKeys=").append(Arrays.toString(urlKeys)).append('\n');
+    sb.append("htmlKeys=").append(Arrays.toString(htmlKeys)).append('\n');
+    sb.append("textKeys=").append(Arrays.toString(textKeys)).append('\n');
+    sb.append("customPatterns=").append(Arrays.toString(customPatterns)).append('\n');
+    sb.append("formatter=").append(formatter).append('\n');
+    sb.append("innerResourceRegex=").append(innerResourceRegex).append('\n');
+    sb.append("xhtmlSchema=").append(describeFile(xhtmlSchema)).append('\n');
+    sb.append("spellcheckSuggestions=").append(spellcheckSuggestions).append('\n');
+
+    sb.append("dictionaries=");
+    describeFiles(sb, dictionaryDir, ".dic");
+    describeFiles(sb, binaryDictionaryDir, "." + BinaryDictionaryWriter.EXTENSION);
+    return sb.toString();
+  }
+
+  private void describeFiles(StringBuilder sb, File directory, String suffix) {
+    if (directory != null && directory.isDirectory()) {
+      File[] files = directory.listFiles((FilenameFilter) new SuffixFileFilter(suffix));
+      Arrays.sort(files);
+      for (File file : files) {
+        sb.append(describeFile(file)).append(';');
+      }
+    }
+  }
+
+  private String describeFile(File file) {
+    String description = "null";
+    if (file != null) {
+      description = file.getPath() + ":" + file.length() + ":" + file.lastModified();
+    }
+    return description;
   }
 
   /**
@@ -375,9 +536,14 @@ public class ValidateMojo extends AbstractMojo implements L10nValidationConfigur
    *           in case validation detected errors and ignoreFailure is false
    */
   protected void executeInternal() throws MojoExecutionException, MojoFailureException {
-    List<L10nReportItem> reportItems = new ArrayList<L10nReportItem>();
+    CountingReportSink reportSink = createReportSink();
 
-    int nbErrors = validate(propertyDir, reportItems);
+    int nbErrors;
+    try {
+      nbErrors = validate(propertyDir, reportSink);
+    } finally {
+      closeReportSink(reportSink);
+    }
 
     if (nbErrors > 0) {
       if (ignoreFailure) {
@@ -391,6 +557,28 @@ public class ValidateMojo extends AbstractMojo implements L10nValidationConfigur
     }
   }
 
+  /**
+   * Items are written to a JSON Lines file under reportsDir if jsonReport is enabled, otherwise only counted.
+   */
+  protected CountingReportSink createReportSink() throws MojoExecutionException {
+    if (!jsonReport || reportsDir == null) {
+      return new CountingReportSink();
+    }
+    try {
+      return new JsonLinesReportSink(new File(reportsDir, JSON_LINES_REPORT));
+    } catch (L10nValidationException e) {
+      throw new MojoExecutionException("An unexpected exception has occurred while creating the report file", e);
+    }
+  }
+
+  private void closeReportSink(ReportSink reportSink) throws MojoExecutionException {
+    try {
+      reportSink.close();
+    } catch (L10nValidationException e) {
+      throw new MojoExecutionException("An unexpected exception has occurred while writing the report file", e);
+    }
+  }
+
   /**
    * Validation logic entry point used both by {@link ValidateMojo} and {@link ReportMojo}
    * 
@@ -402,10 +590,27 @@ public class ValidateMojo extends AbstractMojo implements L10nValidationConfigur
    * @throws MojoExecutionException
    */
   protected int validate(File directory, List<L10nReportItem> reportItems) throws MojoExecutionException {
+    return validate(directory, new ListReportSink(reportItems));
+  }
+
+  /**
+   * Validation logic entry point streaming items to a sink, so that they do not need to be all kept in memory.
+   * 
+   * @param directory
+   *          the folder containing .properties files to validate
+   * @param reportSink
+   *          sink for validation errors/warn/info items, not closed by this method
+   * @return number of validation errors
+   * @throws MojoExecutionException
+   */
+  protected int validate(File directory, ReportSink reportSink) throws MojoExecutionException {
     int nbErrors = 0;
 
     try {
-      nbErrors = directoryValidator.validate(directory, reportItems);
+      nbErrors = directoryValidator.validate(directory, reportSink);
+      if (spellCheckValidator != null) {
+        spellCheckValidator.logCacheStatistics();
+      }
 
     } catch (L10nValidationException e) {
       throw new MojoExecutionException(
@@ -415,7 +620,7 @@ public class ValidateMojo extends AbstractMojo implements L10nValidationConfigur
     return nbErrors;
   }
 
-  public void setDirectoryValidator(L10nValidator<File> directoryValidator) {
+  public void setDirectoryValidator(StreamingL10nValidator<File> directoryValidator) {
     this.directoryValidator = directoryValidator;
   }
 
@@ -507,6 +712,14 @@ public class ValidateMojo extends AbstractMojo implements L10nValidationConfigur
     return dictionaryDir;
   }
 
+  public File getBinaryDictionaryDir() {
+    return binaryDictionaryDir;
+  }
+
+  public void setBinaryDictionaryDir(File binaryDictionaryDir) {
+    this.binaryDictionaryDir = binaryDictionaryDir;
+  }
+
   public void setSkip(boolean skip) {
     this.skip = skip;
   }
@@ -539,4 +752,52 @@ public class ValidateMojo extends AbstractMojo implements L10nValidationConfigur
     this.innerResourceRegex = innerResourceRegex;
   }
 
+  public int getThreads() {
+    return threads;
+  }
+
+  public void setThreads(int threads) {
+    this.threads = threads;
+  }
+
+  public boolean getIncremental() {
+    return incremental;
+  }
+
+  public void setIncremental(boolean incremental) {
+    this.incremental = incremental;
+  }
+
+  public File getCacheDir() {
+    return cacheDir;
+  }
+
+  public void setCacheDir(File cacheDir) {
+    this.cacheDir = cacheDir;
+  }
+
+  public boolean getSpellcheckSuggestions() {
+    return spellcheckSuggestions;
+  }
+
+  public void setSpellcheckSuggestions(boolean spellcheckSuggestions) {
+    this.spellcheckSuggestions = spellcheckSuggestions;
+  }
+
+  public boolean getJsonReport() {
+    return jsonReport;
+  }
+
+  public void setJsonReport(boolean jsonReport) {
+    this.jsonReport = jsonReport;
+  }
+
+  public String getPluginVersion() {
+    return pluginVersion;
+  }
+
+  public void setPluginVersion(String pluginVersion) {
+    this.pluginVersion = pluginVersion;
+  }
+
 }
@@ -29,15 +29,8 @@ public class CStyleFormatter implements Formatter {
    */
   private static final String CAPTURE_PARAMETERS_REGEXP = "%([0-9]+)" + Pattern.quote("$");
 
-  private static final String DETECT_PARAMETERS_REGEXP = "^.*" + CAPTURE_PARAMETERS_REGEXP + ".*$";
-
   protected static final Pattern CAPTURE_PARAMETERS_PATTERN = Pattern.compile(CAPTURE_PARAMETERS_REGEXP);
 
-  /**
-   * Use DOTALL flag so that . includes newline characters
-   */
-  protected static final Pattern DETECT_PARAMETERS_PATTERN = Pattern.compile(DETECT_PARAMETERS_REGEXP, Pattern.DOTALL);
-
   /**
    * Number of formatting parameters replaced in resources
    */
@@ -88,8 +81,9 @@ public class CStyleFormatter implements Formatter {
   }
 
   public boolean isParametric(String message) {
-    Matcher m = DETECT_PARAMETERS_PATTERN.matcher(message);
-    return m.matches();
+    // Any parameter, rather than matching ^.*param.*$ that backtracks over the whole message
+    Matcher m = CAPTURE_PARAMETERS_PATTERN.matcher(message);
+    return m.find();
   }
 
   public List<Integer> captureParameters(String message) {
@@ -1,5 +1,7 @@
 package com.googlecode.l10nmavenplugin.format;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
@@ -22,8 +24,6 @@ public class InnerResourcesFormatter {
 
   private final Pattern innerResourcePattern;
 
-  private final Pattern innerResourcePresencePattern;
-
   /**
    * constructor
    * 
@@ -35,7 +35,6 @@ public class InnerResourcesFormatter {
   public InnerResourcesFormatter(String innerResourceRegex) {
     this.innerResourceRegex = innerResourceRegex;
     innerResourcePattern = Pattern.compile(innerResourceRegex, Pattern.DOTALL);
-    innerResourcePresencePattern = Pattern.compile("^.*" + innerResourceRegex + ".*$", Pattern.DOTALL);
   }
 
   /**
@@ -59,7 +58,7 @@ public class InnerResourcesFormatter {
         throw new IllegalArgumentException(String.format(
             "Could not extract inner key with regex %s in %s", innerResourceRegex, matcher.group()));
       }
-      String value = file.getProperties().getProperty(innerKey);
+      String value = file.getProperty(innerKey);
       if (value == null) {
         throw new IllegalArgumentException(String.format(
             "Inner key <%s> not found in property file <%s>", innerKey, file.getFileName()));
@@ -78,7 +77,8 @@ public class InnerResourcesFormatter {
   public boolean hasInnerResources(String message) {
     boolean isParametric = false;
     if (StringUtils.isNotBlank(message)) {
-      isParametric = innerResourcePresencePattern.matcher(message).matches();
+      // Same as matching ^.*regex.*$ in DOTALL mode, without backtracking over the whole message
+      isParametric = innerResourcePattern.matcher(message).find();
     }
     return isParametric;
   }
@@ -125,6 +125,26 @@ public class InnerResourcesFormatter {
       return null;
     }
 
+    public String getProperty(String key) {
+      return key;
+    }
+
+    public Collection<String> getKeys() {
+      return Collections.emptyList();
+    }
+
+    public int getLineNumber(String key) {
+      return 0;
+    }
+
+    public int getColumnNumber(String key) {
+      return 0;
+    }
+
+    public byte[] getContentDigest() {
+      return null;
+    }
+
   }
 
   @SuppressWarnings("serial")
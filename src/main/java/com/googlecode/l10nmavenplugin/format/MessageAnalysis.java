@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.format;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of the parsing of a message, shared by all validators so that a message is only tokenized once.
+ * <p>
+ * Each part of the analysis is computed on first access.
+ *
+ * @since 1.9
+ */
+public class MessageAnalysis {
+
+  private final String message;
+
+  private final Formatter formatter;
+
+  private final InnerResourcesFormatter innerResourcesFormatter;
+
+  private Boolean parametric;
+
+  private List<Integer> parameters;
+
+  private String defaultFormattedMessage;
+
+  private boolean defaultFormatFailed;
+
+  private String defaultFormatErrorMessage;
+
+  private List<String> innerResources;
+
+  private String tagSignature;
+
+  /**
+   * @param message
+   * @param formatter
+   *          the formatter used for parametric replacement
+   * @param innerResourcesFormatter
+   *          the formatter for inner resources, may be null
+   */
+  public MessageAnalysis(String message, Formatter formatter, InnerResourcesFormatter innerResourcesFormatter) {
+    this.message = message;
+    this.formatter = formatter;
+    this.innerResourcesFormatter = innerResourcesFormatter;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  /**
+   * @see Formatter#isParametric(String)
+   */
+  public synchronized boolean isParametric() {
+    if (parametric == null) {
+      parametric = formatter.isParametric(message);
+    }
+    return parametric;
+  }
+
+  /**
+   * @see Formatter#captureParameters(String)
+   */
+  public synchronized List<Integer> getParameters() {
+    if (parameters == null) {
+      parameters = Collections.unmodifiableList(formatter.captureParameters(message));
+    }
+    return parameters;
+  }
+
+  /**
+   * Only the message of a formatting error is kept, a new exception being thrown on each call.
+   * 
+   * @see Formatter#defaultFormat(String)
+   */
+  public synchronized String getDefaultFormattedMessage() throws IllegalArgumentException {
+    if (defaultFormatFailed) {
+      throw new IllegalArgumentException(defaultFormatErrorMessage);
+    }
+    if (defaultFormattedMessage == null) {
+      try {
+        defaultFormattedMessage = formatter.defaultFormat(message);
+      } catch (IllegalArgumentException e) {
+        defaultFormatFailed = true;
+        defaultFormatErrorMessage = e.getMessage();
+        throw e;
+      }
+    }
+    return defaultFormattedMessage;
+  }
+
+  /**
+   * @see InnerResourcesFormatter#captureInnerResources(String)
+   * @return keys of inner resources, empty if no inner resources formatter is configured
+   */
+  public synchronized List<String> getInnerResources() {
+    if (innerResources == null) {
+      if (innerResourcesFormatter != null) {
+        innerResources = Collections.unmodifiableList(innerResourcesFormatter.captureInnerResources(message));
+      } else {
+        innerResources = Collections.emptyList();
+      }
+    }
+    return innerResources;
+  }
+
+  /**
+   * Signature of the html tags of the message, as computed by
+   * {@link com.googlecode.l10nmavenplugin.validators.family.HtmlTagCoherenceValidator}
+   *
+   * @return null if not computed yet, or if message is not valid XHTML
+   */
+  public synchronized String getTagSignature() {
+    return tagSignature;
+  }
+
+  public synchronized void setTagSignature(String tagSignature) {
+    this.tagSignature = tagSignature;
+  }
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.format;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of {@link MessageAnalysis}, keyed by message.
+ * <p>
+ * Messages are used as keys rather than (file, key) pairs, as untranslated resources often share the same value across
+ * files. The cache is also a {@link Formatter}, so that it can be transparently used in place of the actual one.
+ * <p>
+ * Messages are mostly analyzed again within the same bundle, so the cache is bounded, least recently used messages
+ * being evicted first. Memory does not grow with the number of bundles.
+ *
+ * @since 1.9
+ */
+public class MessageAnalysisCache implements Formatter {
+
+  /**
+   * Default maximum number of messages kept in cache
+   */
+  public static final int DEFAULT_MAX_MESSAGES = 10000;
+
+  private final Formatter formatter;
+
+  private final InnerResourcesFormatter innerResourcesFormatter;
+
+  /**
+   * Guarded by itself
+   */
+  private final Map<String, MessageAnalysis> analyses;
+
+  /**
+   * @param formatter
+   *          the actual formatter
+   * @param innerResourcesFormatter
+   *          the formatter for inner resources, may be null
+   */
+  public MessageAnalysisCache(Formatter formatter, InnerResourcesFormatter innerResourcesFormatter) {
+    this(formatter, innerResourcesFormatter, DEFAULT_MAX_MESSAGES);
+  }
+
+  /**
+   * @param formatter
+   *          the actual formatter
+   * @param innerResourcesFormatter
+   *          the formatter for inner resources, may be null
+   * @param maxMessages
+   *          maximum number of messages kept in cache
+   */
+  public MessageAnalysisCache(Formatter formatter, InnerResourcesFormatter innerResourcesFormatter,
+      final int maxMessages) {
+    this.formatter = formatter;
+    this.innerResourcesFormatter = innerResourcesFormatter;
+    analyses = new LinkedHashMap<String, MessageAnalysis>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, MessageAnalysis> eldest) {
+        return size() > maxMessages;
+      }
+    };
+  }
+
+  /**
+   * Get the analysis of a message, creating it if needed
+   */
+  public MessageAnalysis analyze(String message) {
+    MessageAnalysis analysis;
+    // Analysis itself is lazy, and done outside of the lock
+    synchronized (analyses) {
+      analysis = analyses.get(message);
+      if (analysis == null) {
+        analysis = new MessageAnalysis(message, formatter, innerResourcesFormatter);
+        analyses.put(message, analysis);
+      }
+    }
+    return analysis;
+  }
+
+  public String format(String message, Object... args) {
+    return formatter.format(message, args);
+  }
+
+  public String defaultFormat(String message) throws IllegalArgumentException {
+    return analyze(message).getDefaultFormattedMessage();
+  }
+
+  public boolean isParametric(String message) {
+    return analyze(message).isParametric();
+  }
+
+  public List<Integer> captureParameters(String message) {
+    return analyze(message).getParameters();
+  }
+
+  public String displayIndexedParameter(int index) {
+    return formatter.displayIndexedParameter(index);
+  }
+
+  public int size() {
+    synchronized (analyses) {
+      return analyses.size();
+    }
+  }
+}
@@ -2,35 +2,19 @@ package com.googlecode.l10nmavenplugin.format;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.commons.lang.StringUtils;
 
+import com.googlecode.l10nmavenplugin.format.MessageFormatScanner.Token;
+
 /**
  * {@link java.text.MessageFormat} wrapper.
  * 
  */
 public class MessageFormatFormatter implements Formatter {
 
-  /**
-   * Detection of parameters ex: {0}, {0,date}, {0,number,integer}
-   * 
-   * Note: conversion type is not captured.
-   */
-  private static final String CAPTURE_PARAMETERS_REGEXP = "(?:\\{([0-9]+)(?:,[a-z]+){0,2}\\})";
-
-  private static final String DETECT_PARAMETERS_REGEXP = "^.*" + CAPTURE_PARAMETERS_REGEXP + ".*$";
-
-  protected static final Pattern CAPTURE_PARAMETERS_PATTERN = Pattern.compile(CAPTURE_PARAMETERS_REGEXP);
-
-  /**
-   * Use DOTALL flag so that . includes newline characters
-   */
-  protected static final Pattern DETECT_PARAMETERS_PATTERN = Pattern.compile(DETECT_PARAMETERS_REGEXP, Pattern.DOTALL);
-
   /**
    * Number of formatting parameters replaced in resources
    */
@@ -43,41 +27,110 @@ public class MessageFormatFormatter implements Formatter {
    */
   private static final Object[] PARAMETRIC_REPLACE_VALUES = new Integer[NB_MAX_FORMAT_PARAM];
 
+  /**
+   * Values as formatted by MessageFormat for a parameter without type, to replace them without MessageFormat.
+   */
+  private static final String[] PARAMETRIC_REPLACE_STRINGS = new String[NB_MAX_FORMAT_PARAM];
+
   static {
     for (int i = 0; i < NB_MAX_FORMAT_PARAM; i++) {
       PARAMETRIC_REPLACE_VALUES[i] = i;
+      PARAMETRIC_REPLACE_STRINGS[i] = MessageFormat.format("{0}", PARAMETRIC_REPLACE_VALUES[i]);
     }
   }
 
+  /**
+   * Parameters ex: {0}, {0,date}, {0,number,integer}, quoted or not
+   */
   public boolean isParametric(String message) {
-    Matcher m = DETECT_PARAMETERS_PATTERN.matcher(message);
-    return m.matches();
+    MessageFormatScanner scanner = new MessageFormatScanner(message);
+    Token token;
+    while ((token = scanner.next()) != null) {
+      if (token == Token.PARAMETER) {
+        return true;
+      }
+    }
+    return false;
   }
 
   public List<Integer> captureParameters(String message) {
-    Matcher m = CAPTURE_PARAMETERS_PATTERN.matcher(message);
-
-    List<Integer> parameters = new ArrayList<Integer>();
-    while (m.find()) {
-      String param = m.group(1);
-      if (!StringUtils.isEmpty(param)) {
-        parameters.add(Integer.valueOf(param));
+    MessageFormatScanner scanner = new MessageFormatScanner(message);
+    int[] indexes = new int[4];
+    int nbParameters = 0;
+    Token token;
+    while ((token = scanner.next()) != null) {
+      if (token == Token.PARAMETER) {
+        if (nbParameters == indexes.length) {
+          int[] newIndexes = new int[indexes.length * 2];
+          System.arraycopy(indexes, 0, newIndexes, 0, nbParameters);
+          indexes = newIndexes;
+        }
+        indexes[nbParameters++] = scanner.getParameterIndex();
       }
     }
     // Parameters may not appear in the same order depending of language
-    Collections.sort(parameters);
+    Arrays.sort(indexes, 0, nbParameters);
 
+    List<Integer> parameters = new ArrayList<Integer>(nbParameters);
+    for (int i = 0; i < nbParameters; i++) {
+      parameters.add(indexes[i]);
+    }
     return parameters;
   }
 
   public String defaultFormat(String message) {
-    String formattedMessage = format(message, PARAMETRIC_REPLACE_VALUES);
+    if (message.indexOf('{') < 0 && message.indexOf('\'') < 0) {
+      // Nothing consumed by MessageFormat
+      return message;
+    }
+    String formattedMessage = substituteParameters(message);
+    if (formattedMessage == null) {
+      formattedMessage = format(message, PARAMETRIC_REPLACE_VALUES);
+    }
 
     // In any case replace '' by ' (resource without parameters but called with fmt:param)
-    formattedMessage = formattedMessage.replaceAll("''", "'");
+    formattedMessage = StringUtils.replace(formattedMessage, "''", "'");
     return formattedMessage;
   }
 
+  /**
+   * Same replacement as MessageFormat, for the common case of messages with only {i} parameters, so that the pattern
+   * does not need to be compiled.
+   * 
+   * @return null if the message has quotes, typed parameters or braces that are not parameters
+   */
+  private String substituteParameters(String message) {
+    if (message.indexOf('\'') >= 0) {
+      return null;
+    }
+    StringBuilder sb = new StringBuilder(message.length() + 16);
+    MessageFormatScanner scanner = new MessageFormatScanner(message);
+    Token token;
+    while ((token = scanner.next()) != null) {
+      if (token == Token.LITERAL) {
+        int brace = message.indexOf('{', scanner.getStart());
+        if (brace >= 0 && brace < scanner.getEnd()) {
+          // Let MessageFormat report the syntax error
+          return null;
+        }
+        sb.append(message, scanner.getStart(), scanner.getEnd());
+
+      } else if (token == Token.PARAMETER) {
+        if (scanner.getParameterType() != null) {
+          return null;
+        }
+        int index = scanner.getParameterIndex();
+        if (index < NB_MAX_FORMAT_PARAM) {
+          sb.append(PARAMETRIC_REPLACE_STRINGS[index]);
+        } else {
+          // No value, MessageFormat outputs the parameter itself
+          sb.append('{').append(index).append('}');
+        }
+      }
+    }
+    return sb.toString();
+  }
+
   public String format(String message, Object... args) {
     return MessageFormat.format(message, args);
   }
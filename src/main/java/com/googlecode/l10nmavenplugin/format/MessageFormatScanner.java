@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.format;
+
+/**
+ * Single pass tokenizer of {@link java.text.MessageFormat} messages, splitting them into literal segments, parameters
+ * and unescaped single quotes.
+ * <p>
+ * Parameters are detected lexically, i.e. {0}, {0,date} or {0,number,integer}, whether they are inside a quoted
+ * section or not. Styles other than lowercase letters (ex: {0,date,MM/dd/yyyy}) are not supported. An unescaped quote is
+ * a single quote that is not part of a sequence of quotes, the message being longer than the quote itself.
+ * <p>
+ * Token attributes are only extracted from the message when requested. Not thread safe, but cheap to create.
+ *
+ * @since 1.9
+ */
+public class MessageFormatScanner {
+
+  public enum Token {
+    LITERAL, PARAMETER, UNESCAPED_QUOTE
+  }
+
+  /**
+   * Parameter index above which parsing another digit would overflow
+   */
+  private static final int MAX_INDEX = (Integer.MAX_VALUE - 9) / 10;
+
+  private final String message;
+
+  private final int length;
+
+  private int position;
+
+  /**
+   * Whether the scanner is inside a section quoted by a single quote
+   */
+  private boolean inQuote;
+
+  private Token token;
+
+  private int start;
+
+  private int end;
+
+  private int parameterIndex;
+
+  private int typeStart;
+
+  private int typeEnd;
+
+  private int styleStart;
+
+  private int styleEnd;
+
+  private int parameterEnd;
+
+  private boolean quoted;
+
+  public MessageFormatScanner(String message) {
+    this.message = message;
+    this.length = message.length();
+  }
+
+  /**
+   * Move to the next token.
+   *
+   * @return the type of the token, or null at the end of the message
+   */
+  public Token next() {
+    if (position >= length) {
+      token = null;
+      return null;
+    }
+
+    int i = position;
+    while (i < length) {
+      char c = message.charAt(i);
+      if (c == '{') {
+        if (parseParameter(i)) {
+          break;
+        }
+        i++;
+      } else if (c == '\'') {
+        int run = quoteRun(i);
+        if (run == 1 && length > 1) {
+          break;
+        }
+        if (run % 2 == 1) {
+          inQuote = !inQuote;
+        }
+        i += run;
+      } else {
+        i++;
+      }
+    }
+
+    start = position;
+    if (i > position) {
+      token = Token.LITERAL;
+      end = i;
+
+    } else if (message.charAt(i) == '{') {
+      // Parameter was parsed just before
+      token = Token.PARAMETER;
+      end = parameterEnd;
+      quoted = inQuote;
+
+    } else {
+      token = Token.UNESCAPED_QUOTE;
+      end = i + 1;
+      inQuote = !inQuote;
+    }
+    position = end;
+    return token;
+  }
+
+  /**
+   * Parse {index(,type(,style)?)?} at a given position
+   *
+   * @return true if a parameter starts at this position
+   */
+  private boolean parseParameter(int from) {
+    int i = from + 1;
+    int index = 0;
+    int nbDigits = 0;
+    while (i < length && isDigit(message.charAt(i))) {
+      if (index > MAX_INDEX) {
+        return false;
+      }
+      index = index * 10 + (message.charAt(i) - '0');
+      nbDigits++;
+      i++;
+    }
+    if (nbDigits == 0) {
+      return false;
+    }
+
+    typeStart = typeEnd = styleStart = styleEnd = -1;
+    for (int segment = 0; segment < 2 && i < length && message.charAt(i) == ','; segment++) {
+      int segmentStart = i + 1;
+      int segmentEnd = segmentStart;
+      while (segmentEnd < length && isLowerCaseLetter(message.charAt(segmentEnd))) {
+        segmentEnd++;
+      }
+      if (segmentEnd == segmentStart) {
+        return false;
+      }
+      if (segment == 0) {
+        typeStart = segmentStart;
+        typeEnd = segmentEnd;
+      } else {
+        styleStart = segmentStart;
+        styleEnd = segmentEnd;
+      }
+      i = segmentEnd;
+    }
+    if (i >= length || message.charAt(i) != '}') {
+      return false;
+    }
+
+    parameterIndex = index;
+    parameterEnd = i + 1;
+    return true;
+  }
+
+  private int quoteRun(int from) {
+    int i = from;
+    while (i < length && message.charAt(i) == '\'') {
+      i++;
+    }
+    return i - from;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isLowerCaseLetter(char c) {
+    return c >= 'a' && c <= 'z';
+  }
+
+  /**
+   * @return the current token, null before the first call to {@link #next()} or at the end of the message
+   */
+  public Token getToken() {
+    return token;
+  }
+
+  /**
+   * @return start of the current token in the message, inclusive
+   */
+  public int getStart() {
+    return start;
+  }
+
+  /**
+   * @return end of the current token in the message, exclusive
+   */
+  public int getEnd() {
+    return end;
+  }
+
+  /**
+   * @return text of the current token
+   */
+  public String getText() {
+    return message.substring(start, end);
+  }
+
+  /**
+   * @return index of the current parameter
+   */
+  public int getParameterIndex() {
+    return parameterIndex;
+  }
+
+  /**
+   * @return type of the current parameter (ex: date, number), or null
+   */
+  public String getParameterType() {
+    return (typeStart < 0) ? null : message.substring(typeStart, typeEnd);
+  }
+
+  /**
+   * @return style of the current parameter (ex: integer), or null
+   */
+  public String getParameterStyle() {
+    return (styleStart < 0) ? null : message.substring(styleStart, styleEnd);
+  }
+
+  /**
+   * @return whether the current parameter is inside a quoted section, and thus not actually replaced by MessageFormat
+   */
+  public boolean isQuoted() {
+    return quoted;
+  }
+
+  /**
+   * Whether message contains a single quote that is not escaped
+   */
+  public static boolean hasUnescapedQuote(String message) {
+    MessageFormatScanner scanner = new MessageFormatScanner(message);
+    Token next;
+    while ((next = scanner.next()) != null) {
+      if (next == Token.UNESCAPED_QUOTE) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
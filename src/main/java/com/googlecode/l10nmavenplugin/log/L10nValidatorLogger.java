@@ -67,16 +67,21 @@ public class L10nValidatorLogger {
    * To avoid too long console I/O for bundles with many validation info/warn (> 5000), use a threshold after which the item of a given type are no longer
    * logged. Errors are always logged.
    * 
+   * Counting is synchronized, as bundles may be validated by several threads.
+   * 
    * @param reportItem
    */
   public void log(L10nReportItem reportItem) {
-    Integer nbLogged = occurences.get(reportItem.getItemType());
-    if (nbLogged == null) {
-      nbLogged = 1;
-    } else {
-      nbLogged++;
+    Integer nbLogged;
+    synchronized (occurences) {
+      nbLogged = occurences.get(reportItem.getItemType());
+      if (nbLogged == null) {
+        nbLogged = 1;
+      } else {
+        nbLogged++;
+      }
+      occurences.put(reportItem.getItemType(), nbLogged);
     }
-    occurences.put(reportItem.getItemType(), nbLogged);
 
     if (nbLogged == THRESOLD + 1) {
       this.logger.warn("Info/Warn of type " + reportItem.getItemType() + " exceed the threshold, items will no more be logged.");
@@ -85,19 +90,19 @@ public class L10nValidatorLogger {
     switch (reportItem.getItemSeverity()) {
     case INFO:
       if (nbLogged <= THRESOLD) {
-        this.info(reportItem.getPropertiesName(), reportItem.getPropertiesKey(), reportItem.getItemMessage(), reportItem.getPropertiesValue(),
+        this.info(reportItem.getPropertiesLocation(), reportItem.getPropertiesKey(), reportItem.getItemMessage(), reportItem.getPropertiesValue(),
             reportItem.getFormattedPropertiesValue());
       }
       break;
     case WARN:
       if (nbLogged <= THRESOLD) {
-        this.warn(reportItem.getPropertiesName(), reportItem.getPropertiesKey(), reportItem.getItemMessage(), reportItem.getPropertiesValue(),
+        this.warn(reportItem.getPropertiesLocation(), reportItem.getPropertiesKey(), reportItem.getItemMessage(), reportItem.getPropertiesValue(),
             reportItem.getFormattedPropertiesValue());
       }
       break;
     default:
       // Report all errors
-      this.error(reportItem.getPropertiesName(), reportItem.getPropertiesKey(), reportItem.getItemMessage(), reportItem.getPropertiesValue(),
+      this.error(reportItem.getPropertiesLocation(), reportItem.getPropertiesKey(), reportItem.getItemMessage(), reportItem.getPropertiesValue(),
           reportItem.getFormattedPropertiesValue());
       break;
     }
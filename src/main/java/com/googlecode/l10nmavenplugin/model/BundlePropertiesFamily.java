@@ -12,9 +12,9 @@ package com.googlecode.l10nmavenplugin.model;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Enumeration;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.io.FilenameUtils;
@@ -36,6 +36,20 @@ public class BundlePropertiesFamily implements PropertiesFamily {
 
   private final Collection<PropertiesFile> propertiesFilesNoRoot = new ArrayList<PropertiesFile>();
 
+  private PropertiesFamily propertiesFamilyNoRoot;
+
+  /**
+   * Index of the values by key then by file, built on first access
+   */
+  private Map<String, String[]> index;
+
+  /**
+   * The files, in the order of the index
+   */
+  private PropertiesFile[] indexedPropertiesFiles;
+
+  private int rootIndex = -1;
+
   /**
    * 
    * @param propertiesFiles
@@ -60,12 +74,35 @@ public class BundlePropertiesFamily implements PropertiesFamily {
    * {@inheritDoc}
    */
   public Set<String> getKeys() {
-    Set<String> keys = new HashSet<String>();
-    for (PropertiesFile propertiesFile : propertiesFiles) {
-      keys.addAll(new HashSet<String>(Collections.list((Enumeration<String>) propertiesFile.getProperties()
-          .propertyNames())));
+    return Collections.unmodifiableSet(getIndex().keySet());
+  }
+
+  /**
+   * Build the key x file index of values, reading each file once.
+   * 
+   * Files are not expected to change once the index is built.
+   */
+  private synchronized Map<String, String[]> getIndex() {
+    if (index == null) {
+      indexedPropertiesFiles = propertiesFiles.toArray(new PropertiesFile[propertiesFiles.size()]);
+      index = new HashMap<String, String[]>();
+
+      for (int i = 0; i < indexedPropertiesFiles.length; i++) {
+        PropertiesFile propertiesFile = indexedPropertiesFiles[i];
+        if (propertiesFile == rootPropertiesFile) {
+          rootIndex = i;
+        }
+        for (String key : propertiesFile.getKeys()) {
+          String[] messages = index.get(key);
+          if (messages == null) {
+            messages = new String[indexedPropertiesFiles.length];
+            index.put(key, messages);
+          }
+          messages[i] = propertiesFile.getProperty(key);
+        }
+      }
     }
-    return keys;
+    return index;
   }
 
   /**
@@ -82,8 +119,11 @@ public class BundlePropertiesFamily implements PropertiesFamily {
   /**
    * {@inheritDoc}
    */
-  public PropertiesFamily getPropertiesFamilyExcludingRoot() {
-    return new BundlePropertiesFamily(propertiesFilesNoRoot);
+  public synchronized PropertiesFamily getPropertiesFamilyExcludingRoot() {
+    if (propertiesFamilyNoRoot == null) {
+      propertiesFamilyNoRoot = new BundlePropertiesFamily(propertiesFilesNoRoot);
+    }
+    return propertiesFamilyNoRoot;
   }
 
   /**
@@ -97,7 +137,12 @@ public class BundlePropertiesFamily implements PropertiesFamily {
    * {@inheritDoc}
    */
   public PropertyFamily getPropertyFamily(String key) {
-    return new BundlePropertyFamily(key, this);
+    String[] messages = getIndex().get(key);
+    if (messages == null) {
+      // Key not defined in any file
+      messages = new String[indexedPropertiesFiles.length];
+    }
+    return new BundlePropertyFamily(key, indexedPropertiesFiles, messages, rootIndex);
   }
 
   /**
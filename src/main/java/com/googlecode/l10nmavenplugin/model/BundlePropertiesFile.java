@@ -10,12 +10,12 @@
 package com.googlecode.l10nmavenplugin.model;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
@@ -68,26 +68,60 @@ public class BundlePropertiesFile implements PropertiesFile {
     return properties;
   }
 
+  public String getProperty(String key) {
+    return properties.getProperty(key);
+  }
+
+  public Collection<String> getKeys() {
+    Set<String> keys = new HashSet<String>();
+    for (Object key : properties.keySet()) {
+      keys.add((String) key);
+    }
+    return keys;
+  }
+
+  /**
+   * Line numbers are not known from {@link Properties}
+   */
+  public int getLineNumber(String key) {
+    return 0;
+  }
+
+  /**
+   * Column numbers are not known from {@link Properties}
+   */
+  public int getColumnNumber(String key) {
+    return 0;
+  }
+
+  /**
+   * Content is not known from {@link Properties}
+   */
+  public byte[] getContentDigest() {
+    return null;
+  }
+
   /**
    * {@inheritDoc}
    */
   public Set<String> getDuplicatedResourceKeys() {
     Set<String> duplicatedResourceKeys = new HashSet<String>();
 
-    List<Map.Entry<String, String>> list = new ArrayList(properties.entrySet());
+    List<String> keys = new ArrayList<String>(getKeys());
     // Sort the list by values, to be able to detect duplicates
-    Collections.sort(list, new Comparator<Map.Entry<String, String>>() {
-      public int compare(Map.Entry<String, String> o1, Map.Entry<String, String> o2) {
-        return o1.getValue().compareTo(o2.getValue());
+    Collections.sort(keys, new Comparator<String>() {
+      public int compare(String key1, String key2) {
+        return getProperty(key1).compareTo(getProperty(key2));
       }
     });
 
     String previousValue = null;
-    for (Map.Entry<String, String> entry : list) {
-      if (entry.getValue().equals(previousValue)) {
-        duplicatedResourceKeys.add(entry.getKey());
+    for (String key : keys) {
+      String value = getProperty(key);
+      if (value.equals(previousValue)) {
+        duplicatedResourceKeys.add(key);
       }
-      previousValue = entry.getValue();
+      previousValue = value;
     }
 
     return duplicatedResourceKeys;
@@ -9,11 +9,12 @@
  ******************************************************************************/
 package com.googlecode.l10nmavenplugin.model;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * {@link java.util.ResourceBundle} based implementation of {@link PropertyFamily}, using the notion of hierarchical bundles with
@@ -26,18 +27,81 @@ import java.util.Set;
 public class BundlePropertyFamily implements PropertyFamily {
 
   /**
-   * The group of properties file to which the property belongs.
+   * The group of properties file to which the property belongs, if not built from an index.
    */
-  private PropertiesFamily family;
+  private final PropertiesFamily family;
+
+  /**
+   * The files of the bundle, in the order of the index
+   */
+  private PropertiesFile[] propertiesFiles;
+
+  /**
+   * The values of the resource, per file
+   */
+  private String[] messages;
+
+  /**
+   * Position of the root file in propertiesFiles, or -1
+   */
+  private int rootIndex = -1;
 
   /**
    * The key of the resource
    */
-  private String key;
+  private final String key;
+
+  private Collection<PropertiesFile> missingPropertyFiles;
+
+  private Collection<PropertiesFile> existingPropertyFiles;
 
+  private Collection<Property> values;
+
+  private PropertyFamily propertyFamilyExcludingRoot;
+
+  /**
+   * Family of a key, whose values are looked up in each file of the bundle on first access.
+   * 
+   * @see BundlePropertiesFamily#getPropertyFamily(String) for a family based on the bundle index
+   */
   public BundlePropertyFamily(String key, PropertiesFamily family) {
+    this.key = key;
     this.family = family;
+  }
+
+  /**
+   * Slice of a bundle index
+   * 
+   * @param key
+   * @param propertiesFiles
+   *          the files of the bundle
+   * @param messages
+   *          the values of the resource, in the order of the files
+   * @param rootIndex
+   *          the position of the root file, or -1
+   */
+  BundlePropertyFamily(String key, PropertiesFile[] propertiesFiles, String[] messages, int rootIndex) {
     this.key = key;
+    this.family = null;
+    this.propertiesFiles = propertiesFiles;
+    this.messages = messages;
+    this.rootIndex = rootIndex;
+  }
+
+  /**
+   * Look up the values of the key, unless built from an index
+   */
+  private synchronized void lookupMessages() {
+    if (messages == null) {
+      propertiesFiles = family.getPropertiesFiles().toArray(new PropertiesFile[family.getNbPropertiesFiles()]);
+      messages = new String[propertiesFiles.length];
+      for (int i = 0; i < propertiesFiles.length; i++) {
+        messages[i] = propertiesFiles[i].getProperty(key);
+        if (propertiesFiles[i] == family.getRootPropertiesFile()) {
+          rootIndex = i;
+        }
+      }
+    }
   }
 
   /**
@@ -50,14 +114,16 @@ public class BundlePropertyFamily implements PropertyFamily {
   /**
    * {@inheritDoc}
    */
-  public Collection<PropertiesFile> getMissingPropertyFiles() {
-    Set<PropertiesFile> missingPropertyFiles = new HashSet<PropertiesFile>();
-
-    for (PropertiesFile propertiesFile : family.getPropertiesFiles()) {
-      String message = propertiesFile.getProperties().getProperty(key);
-      if (message == null || message.length() == 0) {
-        missingPropertyFiles.add(propertiesFile);
+  public synchronized Collection<PropertiesFile> getMissingPropertyFiles() {
+    if (missingPropertyFiles == null) {
+      lookupMessages();
+      List<PropertiesFile> missing = new ArrayList<PropertiesFile>();
+      for (int i = 0; i < propertiesFiles.length; i++) {
+        if (isMissing(messages[i])) {
+          missing.add(propertiesFiles[i]);
+        }
       }
+      missingPropertyFiles = Collections.unmodifiableList(missing);
     }
     return missingPropertyFiles;
   }
@@ -65,14 +131,16 @@ public class BundlePropertyFamily implements PropertyFamily {
   /**
    * {@inheritDoc}
    */
-  public Collection<PropertiesFile> getExistingPropertyFiles() {
-    Set<PropertiesFile> existingPropertyFiles = new HashSet<PropertiesFile>();
-    Collection<PropertiesFile> missingPropertyFiles = getMissingPropertyFiles();
-
-    for (PropertiesFile propertiesFile : family.getPropertiesFiles()) {
-      if (!missingPropertyFiles.contains(propertiesFile)) {
-        existingPropertyFiles.add(propertiesFile);
+  public synchronized Collection<PropertiesFile> getExistingPropertyFiles() {
+    if (existingPropertyFiles == null) {
+      lookupMessages();
+      List<PropertiesFile> existing = new ArrayList<PropertiesFile>(propertiesFiles.length);
+      for (int i = 0; i < propertiesFiles.length; i++) {
+        if (!isMissing(messages[i])) {
+          existing.add(propertiesFiles[i]);
+        }
       }
+      existingPropertyFiles = Collections.unmodifiableList(existing);
     }
     return existingPropertyFiles;
   }
@@ -80,43 +148,60 @@ public class BundlePropertyFamily implements PropertyFamily {
   /**
    * {@inheritDoc}
    */
-  public Collection<Property> getValues() {
-
-    Map<String, Property> values = new HashMap<String, Property>();
-
-    for (PropertiesFile propertiesFile : family.getPropertiesFiles()) {
-      String message = propertiesFile.getProperties().getProperty(key);
-      if (message != null && message.length() > 0) {
-        if (values.get(message) == null) {
-          values.put(message, new PropertyImpl(key, message, null));
+  public synchronized Collection<Property> getValues() {
+    if (values == null) {
+      lookupMessages();
+      // Keep values in the order of the files
+      Map<String, Property> valuesByMessage = new LinkedHashMap<String, Property>();
+
+      for (int i = 0; i < propertiesFiles.length; i++) {
+        String message = messages[i];
+        if (!isMissing(message)) {
+          Property property = valuesByMessage.get(message);
+          if (property == null) {
+            property = new PropertyImpl(key, message, null);
+            valuesByMessage.put(message, property);
+          }
+          property.addContainingPropertiesFile(propertiesFiles[i]);
         }
-        values.get(message).addContainingPropertiesFile(propertiesFile);
       }
+      values = Collections.unmodifiableCollection(valuesByMessage.values());
+    }
+    return values;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public synchronized PropertyFamily getPropertyFamilyExcludingRoot() {
+    if (propertyFamilyExcludingRoot == null) {
+      propertyFamilyExcludingRoot = createPropertyFamilyExcludingRoot();
     }
+    return propertyFamilyExcludingRoot;
+  }
 
-    // List<Entry<String, Property>> list = new ArrayList<Entry<String, Property>>(values.entrySet());
-    //
-    // // Sort the list by frequency of the property value
-    // Collections.sort(list, new Comparator<Map.Entry<String, Property>>() {
-    // public int compare(Entry<String, Property> o1, Entry<String, Property> o2) {
-    //
-    // return o1.getValue().getContainingPropertiesFiles().size() - o2.getValue().getContainingPropertiesFiles().size();
-    // }
-    // });
-    //
-    // Collection<Property> sortedValues = new ArrayList<Property>();
-    // for (Entry<String, Property> entry : list) {
-    // sortedValues.add(entry.getValue());
-    // }
-
-    return values.values();
+  private PropertyFamily createPropertyFamilyExcludingRoot() {
+    lookupMessages();
+    PropertyFamily propertyFamily = this;
+    if (rootIndex != -1) {
+      PropertiesFile[] propertiesFilesNoRoot = new PropertiesFile[propertiesFiles.length - 1];
+      String[] messagesNoRoot = new String[messages.length - 1];
+      System.arraycopy(propertiesFiles, 0, propertiesFilesNoRoot, 0, rootIndex);
+      System.arraycopy(propertiesFiles, rootIndex + 1, propertiesFilesNoRoot, rootIndex, propertiesFilesNoRoot.length
+          - rootIndex);
+      System.arraycopy(messages, 0, messagesNoRoot, 0, rootIndex);
+      System.arraycopy(messages, rootIndex + 1, messagesNoRoot, rootIndex, messagesNoRoot.length - rootIndex);
+      propertyFamily = new BundlePropertyFamily(key, propertiesFilesNoRoot, messagesNoRoot, -1);
+    }
+    return propertyFamily;
   }
 
-  public PropertyFamily getPropertyFamilyExcludingRoot() {
-    return new BundlePropertyFamily(key, family.getPropertiesFamilyExcludingRoot());
+  public synchronized int getNbPropertiesFiles() {
+    lookupMessages();
+    return propertiesFiles.length;
   }
 
-  public int getNbPropertiesFiles() {
-    return family.getNbPropertiesFiles();
+  private static boolean isMissing(String message) {
+    return message == null || message.length() == 0;
   }
 }
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Immutable {@link PropertiesFile}, with resources stored in arrays ordered by key along with their position in the
+ * file.
+ * <p>
+ * Resources are looked up by binary search, and the {@link Properties} object is only built if requested.
+ * 
+ * @since 1.9
+ */
+public class IndexedPropertiesFile extends BundlePropertiesFile {
+
+  /**
+   * Algorithm of the digest of the file content
+   */
+  public static final String DIGEST_ALGORITHM = "SHA-1";
+
+  private final String[] keys;
+
+  private final String[] values;
+
+  private final int[] lineNumbers;
+
+  private final int[] columnNumbers;
+
+  private final Collection<String> keyList;
+
+  private final byte[] contentDigest;
+
+  private IndexedPropertiesFile(String fileName, String[] keys, String[] values, int[] lineNumbers,
+      int[] columnNumbers, byte[] contentDigest) {
+    super(fileName, null);
+    this.keys = keys;
+    this.values = values;
+    this.lineNumbers = lineNumbers;
+    this.columnNumbers = columnNumbers;
+    this.keyList = Collections.unmodifiableList(Arrays.asList(keys));
+    this.contentDigest = contentDigest;
+  }
+
+  /**
+   * @return {@link #DIGEST_ALGORITHM} digest of the bytes the file was loaded from, or null if unknown
+   */
+  @Override
+  public byte[] getContentDigest() {
+    return (contentDigest == null) ? null : contentDigest.clone();
+  }
+
+  /**
+   * A new copy of the resources on each call, so that modifying it has no effect on the file nor on other callers.
+   */
+  @Override
+  public Properties getProperties() {
+    Properties properties = new Properties();
+    for (int i = 0; i < keys.length; i++) {
+      properties.put(keys[i], values[i]);
+    }
+    return properties;
+  }
+
+  @Override
+  public String getProperty(String key) {
+    int index = Arrays.binarySearch(keys, key);
+    return (index >= 0) ? values[index] : null;
+  }
+
+  /**
+   * @return keys in natural order
+   */
+  @Override
+  public Collection<String> getKeys() {
+    return keyList;
+  }
+
+  @Override
+  public int getLineNumber(String key) {
+    int index = Arrays.binarySearch(keys, key);
+    return (index >= 0) ? lineNumbers[index] : 0;
+  }
+
+  @Override
+  public int getColumnNumber(String key) {
+    int index = Arrays.binarySearch(keys, key);
+    return (index >= 0) ? columnNumbers[index] : 0;
+  }
+
+  /**
+   * Builder of {@link IndexedPropertiesFile}, to be fed with resources in file order.
+   */
+  public static class Builder {
+
+    private final String fileName;
+
+    /**
+     * Position of each key in values and lineNumbers
+     */
+    private final Map<String, Integer> positions = new TreeMap<String, Integer>();
+
+    private final List<String> values = new ArrayList<String>();
+
+    private final List<Integer> lineNumbers = new ArrayList<Integer>();
+
+    private final List<Integer> columnNumbers = new ArrayList<Integer>();
+
+    private byte[] contentDigest;
+
+    public Builder(String fileName) {
+      this.fileName = fileName;
+    }
+
+    public void setContentDigest(byte[] contentDigest) {
+      this.contentDigest = contentDigest;
+    }
+
+    /**
+     * Add a resource. As for {@link Properties}, last definition of a key wins.
+     * 
+     * @return the previous value of the key, or null if it was not defined
+     */
+    public String put(String key, String value, int lineNumber, int columnNumber) {
+      String previousValue = null;
+      Integer position = positions.get(key);
+      if (position == null) {
+        positions.put(key, values.size());
+        values.add(value);
+        lineNumbers.add(lineNumber);
+        columnNumbers.add(columnNumber);
+      } else {
+        previousValue = values.set(position, value);
+        lineNumbers.set(position, lineNumber);
+        columnNumbers.set(position, columnNumber);
+      }
+      return previousValue;
+    }
+
+    public IndexedPropertiesFile build() {
+      int size = positions.size();
+      String[] sortedKeys = new String[size];
+      String[] sortedValues = new String[size];
+      int[] sortedLineNumbers = new int[size];
+      int[] sortedColumnNumbers = new int[size];
+
+      int i = 0;
+      for (Map.Entry<String, Integer> entry : positions.entrySet()) {
+        sortedKeys[i] = entry.getKey();
+        sortedValues[i] = values.get(entry.getValue());
+        sortedLineNumbers[i] = lineNumbers.get(entry.getValue());
+        sortedColumnNumbers[i] = columnNumbers.get(entry.getValue());
+        i++;
+      }
+      return new IndexedPropertiesFile(fileName, sortedKeys, sortedValues, sortedLineNumbers,
+          sortedColumnNumbers, contentDigest);
+    }
+  }
+}
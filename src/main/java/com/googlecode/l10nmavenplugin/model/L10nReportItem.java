@@ -174,19 +174,43 @@ public class L10nReportItem implements Comparable<L10nReportItem> {
    */
   private final String formattedPropertiesValue;
 
+  /**
+   * Line of the properties file where the property is defined, 0 if unknown
+   */
+  private final int lineNumber;
+
+  /**
+   * Column of the line where the key of the property starts, 0 if unknown
+   */
+  private final int columnNumber;
+
+  /**
+   * Position of the property is taken from its properties file, as recorded while loading it.
+   */
   public L10nReportItem(Type itemType, String itemMessage, Property property, String formattedPropertiesValue) {
     this(itemType, itemMessage, property.getPropertiesFile().toString(), property.getKey(), property.getMessage(),
-        formattedPropertiesValue);
+        formattedPropertiesValue, property.getPropertiesFile().getLineNumber(property.getKey()), property
+            .getPropertiesFile().getColumnNumber(property.getKey()));
   }
 
   public L10nReportItem(Type itemType, String itemMessage, String propertiesName, String propertiesKey,
       String propertiesValue, String formattedPropertiesValue) {
+    this(itemType, itemMessage, propertiesName, propertiesKey, propertiesValue, formattedPropertiesValue, 0, 0);
+  }
+
+  /**
+   * @since 1.9
+   */
+  public L10nReportItem(Type itemType, String itemMessage, String propertiesName, String propertiesKey,
+      String propertiesValue, String formattedPropertiesValue, int lineNumber, int columnNumber) {
     this.itemType = itemType;
     this.itemMessage = itemMessage;
     this.propertiesName = propertiesName;
     this.propertiesKey = propertiesKey;
     this.propertiesValue = propertiesValue;
     this.formattedPropertiesValue = formattedPropertiesValue;
+    this.lineNumber = lineNumber;
+    this.columnNumber = columnNumber;
   }
 
   public Severity getItemSeverity() {
@@ -217,6 +241,45 @@ public class L10nReportItem implements Comparable<L10nReportItem> {
     return formattedPropertiesValue;
   }
 
+  /**
+   * @return 0 if unknown
+   * @since 1.9
+   */
+  public int getLineNumber() {
+    return lineNumber;
+  }
+
+  /**
+   * @return 0 if unknown
+   * @since 1.9
+   */
+  public int getColumnNumber() {
+    return columnNumber;
+  }
+
+  /**
+   * Suggested fix of the property value, which may be expensive to compute and is then only computed on demand.
+   * 
+   * @return null if none
+   * @since 1.9
+   */
+  public String getSuggestion() {
+    return null;
+  }
+
+  /**
+   * Name of the properties file, followed by the line and column of the property if known (i.e. bundle_en.properties:12:1)
+   * 
+   * @since 1.9
+   */
+  public String getPropertiesLocation() {
+    String location = propertiesName;
+    if (lineNumber > 0) {
+      location = propertiesName + ":" + lineNumber + ":" + columnNumber;
+    }
+    return location;
+  }
+
   public int compareTo(L10nReportItem o) {
     int result = getItemSeverity().compareTo(o.getItemSeverity());
     if (result == 0) {
@@ -231,6 +294,11 @@ public class L10nReportItem implements Comparable<L10nReportItem> {
     return result;
   }
 
+  /**
+   * Group items by type.
+   * 
+   * Items are sorted in place, so this is meant to be called once on all the items of the run.
+   */
   public static Map<Type, List<L10nReportItem>> byType(List<L10nReportItem> items) {
     // Order items by Type
     Collections.sort(items);
@@ -9,6 +9,7 @@
  ******************************************************************************/
 package com.googlecode.l10nmavenplugin.model;
 
+import java.util.Collection;
 import java.util.Locale;
 import java.util.Properties;
 import java.util.Set;
@@ -52,6 +53,48 @@ public interface PropertiesFile {
    */
   Properties getProperties();
 
+  /**
+   * The value of a resource
+   * 
+   * @param key
+   * @return null if the key is not defined in the file
+   * @since 1.9
+   */
+  String getProperty(String key);
+
+  /**
+   * The keys of the resources defined in the file
+   * 
+   * @since 1.9
+   */
+  Collection<String> getKeys();
+
+  /**
+   * The line of the file where a resource is defined, starting at 1.
+   * 
+   * @param key
+   * @return 0 if unknown
+   * @since 1.9
+   */
+  int getLineNumber(String key);
+
+  /**
+   * The column of the line where the key of a resource starts, starting at 1.
+   * 
+   * @param key
+   * @return 0 if unknown
+   * @since 1.9
+   */
+  int getColumnNumber(String key);
+
+  /**
+   * Digest of the bytes the file was loaded from, to detect changes without reading the file again.
+   * 
+   * @return null if unknown
+   * @since 1.9
+   */
+  byte[] getContentDigest();
+
   /**
    * Set of keys for resources whose value is not unique in the file
    * 
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.model.spellcheck;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.io.IOUtils;
+
+import com.swabunga.spell.engine.DoubleMeta;
+import com.swabunga.spell.engine.Transformator;
+
+/**
+ * Converts a plain text word list into the binary format read by {@link MappedSpellDictionary}, so that phonetic codes
+ * are computed once and for all.
+ * 
+ * Layout, all integers being big endian:
+ * <ul>
+ * <li>magic number and format version</li>
+ * <li>number of phonetic codes, followed by the offset of each code entry, entries being sorted by code</li>
+ * <li>code entries: the code, the number of words and the words with this code, in word list order</li>
+ * </ul>
+ * Strings are stored as UTF-8 bytes prefixed by their length on 2 bytes, and compared as unsigned bytes.
+ * 
+ * @since 1.9
+ */
+public class BinaryDictionaryWriter {
+
+  public static final int MAGIC = 0x6C31306E;
+
+  public static final int VERSION = 1;
+
+  /**
+   * Extension of binary dictionaries
+   */
+  public static final String EXTENSION = "bdic";
+
+  private static final int MAX_STRING_LENGTH = 0xFFFF;
+
+  private final Transformator transformator = new DoubleMeta();
+
+  /**
+   * Words by phonetic code, codes being sorted by their UTF-8 bytes
+   */
+  private final Map<String, List<String>> words = new TreeMap<String, List<String>>(new Utf8Comparator());
+
+  /**
+   * Add the words of a word list, one word per line, as done by Jazzy SpellDictionaryHashMap.
+   */
+  public void addWords(Reader wordList) throws IOException {
+    BufferedReader reader = new BufferedReader(wordList);
+    String word;
+    while ((word = reader.readLine()) != null) {
+      if (word.length() > 0) {
+        addWord(word);
+      }
+    }
+  }
+
+  public void addWord(String word) {
+    String code = transformator.transform(word);
+    List<String> codeWords = words.get(code);
+    if (codeWords == null) {
+      codeWords = new ArrayList<String>(1);
+      words.put(code, codeWords);
+    }
+    codeWords.add(word);
+  }
+
+  public void write(File file) throws IOException {
+    // Encode entries first to know their offsets
+    List<byte[]> entries = new ArrayList<byte[]>(words.size());
+    for (Map.Entry<String, List<String>> entry : words.entrySet()) {
+      entries.add(encodeEntry(entry.getKey(), entry.getValue()));
+    }
+
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+    try {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(entries.size());
+      int offset = 4 * (3 + entries.size());
+      for (byte[] entry : entries) {
+        out.writeInt(offset);
+        offset += entry.length;
+      }
+      for (byte[] entry : entries) {
+        out.write(entry);
+      }
+    } finally {
+      IOUtils.closeQuietly(out);
+    }
+  }
+
+  private byte[] encodeEntry(String code, List<String> codeWords) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    writeString(out, code);
+    if (codeWords.size() > MAX_STRING_LENGTH) {
+      throw new IOException("Too many words with phonetic code <" + code + ">");
+    }
+    out.writeShort(codeWords.size());
+    for (String word : codeWords) {
+      writeString(out, word);
+    }
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  private void writeString(DataOutputStream out, String s) throws IOException {
+    byte[] bytes = s.getBytes("UTF-8");
+    if (bytes.length > MAX_STRING_LENGTH) {
+      throw new IOException("Word too long: " + s);
+    }
+    out.writeShort(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * Order of UTF-8 bytes compared as unsigned bytes, i.e. code point order.
+   */
+  private static class Utf8Comparator implements Comparator<String>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public int compare(String s1, String s2) {
+      int i1 = 0;
+      int i2 = 0;
+      while (i1 < s1.length() && i2 < s2.length()) {
+        int c1 = s1.codePointAt(i1);
+        int c2 = s2.codePointAt(i2);
+        if (c1 != c2) {
+          return c1 - c2;
+        }
+        i1 += Character.charCount(c1);
+        i2 += Character.charCount(c2);
+      }
+      return (s1.length() - i1) - (s2.length() - i2);
+    }
+  }
+}
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.model.spellcheck;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.swabunga.spell.engine.Word;
+import com.swabunga.spell.event.SpellCheckEvent;
+import com.swabunga.spell.event.SpellCheckListener;
+import com.swabunga.spell.event.SpellChecker;
+import com.swabunga.spell.event.StringWordTokenizer;
+
+/**
+ * Jazzy {@link SpellChecker} memoizing the correctness and suggestions of words, the same words being checked over and
+ * over across the properties of a locale.
+ * 
+ * The cache is bounded, least recently used words being evicted first.
+ * 
+ * Thread safe as long as no dictionary or listener is added after construction: use {@link #check(String)} rather than
+ * registering listeners, so that a single instance can be shared by concurrent validations.
+ * 
+ * @since 1.9
+ */
+public class CachingSpellChecker extends SpellChecker {
+
+  /**
+   * Guarded by itself
+   */
+  private final Map<String, CachedWord> cache;
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * Errors of the message being checked by the current thread
+   */
+  private final ThreadLocal<List<SpellCheckError>> currentErrors = new ThreadLocal<List<SpellCheckError>>();
+
+  /**
+   * @param maxWords
+   *          maximum number of words kept in cache
+   */
+  public CachingSpellChecker(final int maxWords) {
+    super();
+    cache = new LinkedHashMap<String, CachedWord>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CachedWord> eldest) {
+        return size() > maxWords;
+      }
+    };
+
+    // Events are fired on the thread calling checkSpelling
+    addSpellCheckListener(new SpellCheckListener() {
+      public void spellingError(SpellCheckEvent event) {
+        List<SpellCheckError> errors = currentErrors.get();
+        if (errors != null) {
+          errors.add(new SpellCheckError(event, CachingSpellChecker.this));
+        }
+      }
+    });
+  }
+
+  /**
+   * Spellcheck a message.
+   * 
+   * @param message
+   * @return the spellcheck errors, in order of position in the message, with suggestions computed on demand
+   */
+  public List<SpellCheckError> check(String message) {
+    List<SpellCheckError> previousErrors = currentErrors.get();
+    List<SpellCheckError> errors = new ArrayList<SpellCheckError>();
+    currentErrors.set(errors);
+    try {
+      checkSpelling(new StringWordTokenizer(message));
+    } finally {
+      currentErrors.set(previousErrors);
+    }
+    return errors;
+  }
+
+  @Override
+  public boolean isCorrect(String word) {
+    CachedWord cachedWord = getCachedWord(word);
+    Boolean correct = cachedWord.correct;
+    if (correct == null) {
+      misses.incrementAndGet();
+      correct = super.isCorrect(word);
+      cachedWord.correct = correct;
+    } else {
+      hits.incrementAndGet();
+    }
+    return correct;
+  }
+
+  /**
+   * Within {@link #check(String)}, Jazzy asks for suggestions before notifying an error: none is returned, as
+   * suggestions are computed on demand by {@link SpellCheckError}.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public List getSuggestions(String word, int threshold) {
+    if (currentErrors.get() != null) {
+      return Collections.EMPTY_LIST;
+    }
+    CachedWord cachedWord = getCachedWord(word);
+    List<Word> suggestions = cachedWord.getSuggestions(threshold);
+    if (suggestions == null) {
+      misses.incrementAndGet();
+      suggestions = Collections.unmodifiableList(super.getSuggestions(word, threshold));
+      cachedWord.putSuggestions(threshold, suggestions);
+    } else {
+      hits.incrementAndGet();
+    }
+    return suggestions;
+  }
+
+  /**
+   * Dictionaries are looked up outside of the lock, so concurrent misses on a same word may both hit them.
+   */
+  private CachedWord getCachedWord(String word) {
+    synchronized (cache) {
+      CachedWord cachedWord = cache.get(word);
+      if (cachedWord == null) {
+        cachedWord = new CachedWord();
+        cache.put(word, cachedWord);
+      }
+      return cachedWord;
+    }
+  }
+
+  /**
+   * @return number of lookups answered from the cache
+   */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /**
+   * @return number of lookups delegated to the dictionaries
+   */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /**
+   * @return ratio of lookups answered from the cache, between 0 and 1
+   */
+  public double getHitRate() {
+    long nbHits = hits.get();
+    long lookups = nbHits + misses.get();
+    return (lookups == 0) ? 0 : (double) nbHits / lookups;
+  }
+
+  /**
+   * @return number of words currently in cache
+   */
+  public int getSize() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * Result of the dictionaries for a word, each part being resolved on first use.
+   */
+  private static class CachedWord {
+
+    private volatile Boolean correct;
+
+    /**
+     * Suggestions by threshold, guarded by this
+     */
+    private Map<Integer, List<Word>> suggestions;
+
+    private synchronized List<Word> getSuggestions(int threshold) {
+      return (suggestions == null) ? null : suggestions.get(threshold);
+    }
+
+    private synchronized void putSuggestions(int threshold, List<Word> words) {
+      if (suggestions == null) {
+        suggestions = new HashMap<Integer, List<Word>>(2);
+      }
+      suggestions.put(threshold, words);
+    }
+  }
+}
@@ -10,13 +10,31 @@
 package com.googlecode.l10nmavenplugin.model.spellcheck;
 
 import java.util.Locale;
+import java.util.concurrent.Callable;
 
 import com.swabunga.spell.engine.SpellDictionary;
-import com.swabunga.spell.event.SpellChecker;
 
 public interface LocaleSpellCheckerRepository {
 
   void addDictionary(Locale locale, SpellDictionary dictionary);
 
-  SpellChecker getSpellChecker(Locale locale);
+  /**
+   * Register a dictionary loaded on first use.
+   * 
+   * @since 1.9
+   */
+  void addDictionary(Locale locale, Callable<SpellDictionary> loader);
+
+  /**
+   * @param locale
+   * @return a SpellChecker shareable across threads, or null if no matching dictionary
+   */
+  CachingSpellChecker getSpellChecker(Locale locale);
+
+  /**
+   * Log the hit rate of the words memoized by the SpellCheckers.
+   * 
+   * @since 1.9
+   */
+  void logCacheStatistics();
 }
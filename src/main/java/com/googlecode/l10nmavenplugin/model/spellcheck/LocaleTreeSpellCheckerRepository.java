@@ -12,43 +12,100 @@ package com.googlecode.l10nmavenplugin.model.spellcheck;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import com.googlecode.l10nmavenplugin.log.L10nValidatorLogger;
 import com.googlecode.l10nmavenplugin.model.PropertiesFileUtils;
+import com.googlecode.l10nmavenplugin.validators.L10nValidationException;
 import com.swabunga.spell.engine.SpellDictionary;
-import com.swabunga.spell.event.SpellChecker;
 
 /**
  * Handles the hierarchy of locales and dictionaries.
  * 
  * Non-locale dependent dictionaries (typically containing proper nouns or international acronyms) are stored with the null key.
  * 
+ * Thread safe, SpellCheckers being shared by concurrent validations.
+ * 
+ * Dictionaries may be registered via a loader, so that only dictionaries of locales actually spellchecked are loaded.
+ * The dictionaries of a locale hierarchy are loaded in parallel, each dictionary being loaded at most once.
+ * 
  * @author romain.quinio
  * 
  */
 public class LocaleTreeSpellCheckerRepository implements LocaleSpellCheckerRepository {
 
-  private final Map<Locale, Collection<SpellDictionary>> spellDictionaries = new HashMap<Locale, Collection<SpellDictionary>>();
+  /**
+   * Dictionaries by locale, loaded on first use. Guarded by this.
+   */
+  private final Map<Locale, Collection<FutureTask<SpellDictionary>>> spellDictionaries = new HashMap<Locale, Collection<FutureTask<SpellDictionary>>>();
+
+  /**
+   * Default maximum number of words memoized by each SpellChecker
+   */
+  public static final int DEFAULT_CACHE_SIZE = 10000;
 
   private L10nValidatorLogger logger;
 
+  private final int cacheSize;
+
   public LocaleTreeSpellCheckerRepository(L10nValidatorLogger logger) {
+    this(logger, DEFAULT_CACHE_SIZE);
+  }
+
+  /**
+   * @param logger
+   * @param cacheSize
+   *          maximum number of words memoized per locale
+   */
+  public LocaleTreeSpellCheckerRepository(L10nValidatorLogger logger, int cacheSize) {
     this.logger = logger;
+    this.cacheSize = cacheSize;
   }
 
   /**
-   * Cache of SpellChecker
+   * Cache of SpellChecker, each locale being resolved exactly once. The result of a resolution is null if there is no
+   * matching dictionary.
    */
-  private final Map<Locale, SpellChecker> spellCheckers = new HashMap<Locale, SpellChecker>();
+  private final ConcurrentMap<Locale, Future<CachingSpellChecker>> spellCheckers = new ConcurrentHashMap<Locale, Future<CachingSpellChecker>>();
 
-  private final Map<Locale, Boolean> resolvedLocales = new HashMap<Locale, Boolean>();
+  /**
+   * Dictionaries have to be added before the first call to {@link #getSpellChecker(Locale)}.
+   */
+  public void addDictionary(Locale locale, final SpellDictionary dictionary) {
+    FutureTask<SpellDictionary> loadedDictionary = new FutureTask<SpellDictionary>(new Callable<SpellDictionary>() {
+      public SpellDictionary call() {
+        return dictionary;
+      }
+    });
+    loadedDictionary.run();
+    addDictionaryTask(locale, loadedDictionary);
+  }
 
-  public void addDictionary(Locale locale, SpellDictionary dictionary) {
-    Collection<SpellDictionary> dictionaries = spellDictionaries.get(locale);
+  /**
+   * Dictionaries have to be added before the first call to {@link #getSpellChecker(Locale)}.
+   * 
+   * @param locale
+   * @param loader
+   *          called at most once, the first time a SpellChecker is built for the locale or a child locale
+   */
+  public void addDictionary(Locale locale, Callable<SpellDictionary> loader) {
+    addDictionaryTask(locale, new FutureTask<SpellDictionary>(loader));
+  }
+
+  private synchronized void addDictionaryTask(Locale locale, FutureTask<SpellDictionary> dictionary) {
+    Collection<FutureTask<SpellDictionary>> dictionaries = spellDictionaries.get(locale);
     if (dictionaries == null) {
-      dictionaries = new ArrayList<SpellDictionary>();
+      dictionaries = new ArrayList<FutureTask<SpellDictionary>>();
       spellDictionaries.put(locale, dictionaries);
     }
     dictionaries.add(dictionary);
@@ -59,10 +116,10 @@ public class LocaleTreeSpellCheckerRepository implements LocaleSpellCheckerRepos
    * @param locale
    * @return never null
    */
-  private Collection<SpellDictionary> getDictionaries(Locale locale) {
-    Collection<SpellDictionary> dictionaries = spellDictionaries.get(locale);
+  private Collection<FutureTask<SpellDictionary>> getDictionaries(Locale locale) {
+    Collection<FutureTask<SpellDictionary>> dictionaries = spellDictionaries.get(locale);
     if (dictionaries == null) {
-      dictionaries = new ArrayList<SpellDictionary>();
+      dictionaries = new ArrayList<FutureTask<SpellDictionary>>();
     }
     return dictionaries;
   }
@@ -73,8 +130,8 @@ public class LocaleTreeSpellCheckerRepository implements LocaleSpellCheckerRepos
    * @param locale
    * @return
    */
-  private Collection<SpellDictionary> getHierarchyDictionaries(Locale locale) {
-    Collection<SpellDictionary> dictionaries = new ArrayList<SpellDictionary>();
+  private synchronized List<FutureTask<SpellDictionary>> getHierarchyDictionaries(Locale locale) {
+    List<FutureTask<SpellDictionary>> dictionaries = new ArrayList<FutureTask<SpellDictionary>>();
 
     Locale currentLocale = locale;
     while (currentLocale != null) {
@@ -92,26 +149,144 @@ public class LocaleTreeSpellCheckerRepository implements LocaleSpellCheckerRepos
   /**
    * Builds a SpellChecker to match the locale and any parent locale.
    * 
+   * Thread safe: concurrent callers for a same locale wait for the first one to build the SpellChecker.
+   * 
    * @param locale
    * @return hierarchical spellChecker, or null if no matching dictionary
    */
-  public SpellChecker getSpellChecker(Locale locale) {
-    SpellChecker spellChecker = null;
-    if (resolvedLocales.get(locale) == null) {
-      Collection<SpellDictionary> dictionaries = getHierarchyDictionaries(locale);
-      this.logger.getLogger().info(
-          "Building SpellChecker for locale <" + locale + "> : found " + dictionaries.size() + " dictionaries");
-      if (dictionaries.size() > 0) {
-        spellChecker = new SpellChecker();
-        for (SpellDictionary dictionary : dictionaries) {
-          spellChecker.addDictionary(dictionary);
+  public CachingSpellChecker getSpellChecker(final Locale locale) {
+    Future<CachingSpellChecker> future = spellCheckers.get(locale);
+    if (future == null) {
+      FutureTask<CachingSpellChecker> task = new FutureTask<CachingSpellChecker>(new Callable<CachingSpellChecker>() {
+        public CachingSpellChecker call() {
+          return buildSpellChecker(locale);
+        }
+      });
+      future = spellCheckers.putIfAbsent(locale, task);
+      if (future == null) {
+        future = task;
+        task.run();
+      }
+    }
+
+    try {
+      return future.get();
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new L10nValidationException("Interrupted while building SpellChecker for locale <" + locale + ">", e);
+
+    } catch (ExecutionException e) {
+      // Propagate original exception
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new L10nValidationException("Could not build SpellChecker for locale <" + locale + ">", cause);
+    }
+  }
+
+  private CachingSpellChecker buildSpellChecker(Locale locale) {
+    CachingSpellChecker spellChecker = null;
+    Collection<SpellDictionary> dictionaries = loadDictionaries(getHierarchyDictionaries(locale));
+    this.logger.getLogger().info(
+        "Building SpellChecker for locale <" + locale + "> : found " + dictionaries.size() + " dictionaries");
+    if (dictionaries.size() > 0) {
+      spellChecker = new CachingSpellChecker(cacheSize);
+      for (SpellDictionary dictionary : dictionaries) {
+        spellChecker.addDictionary(dictionary);
+      }
+    }
+    return spellChecker;
+  }
+
+  /**
+   * Load dictionaries in parallel. Dictionaries already loaded or being loaded by another thread are not reloaded.
+   * 
+   * @return the dictionaries successfully loaded, in the same order
+   */
+  private Collection<SpellDictionary> loadDictionaries(List<FutureTask<SpellDictionary>> tasks) {
+    Collection<SpellDictionary> dictionaries = new ArrayList<SpellDictionary>();
+
+    ExecutorService executor = null;
+    int nbThreads = Math.min(tasks.size(), Runtime.getRuntime().availableProcessors());
+    if (nbThreads > 1) {
+      executor = Executors.newFixedThreadPool(nbThreads);
+    }
+    try {
+      for (FutureTask<SpellDictionary> task : tasks) {
+        if (executor != null && !task.isDone()) {
+          // No-op if the task has already started
+          executor.execute(task);
         }
-        spellCheckers.put(locale, spellChecker);
       }
-      resolvedLocales.put(locale, true);
+      for (FutureTask<SpellDictionary> task : tasks) {
+        // Run in current thread if not started yet
+        task.run();
+        SpellDictionary dictionary = getLoadedDictionary(task);
+        if (dictionary != null) {
+          dictionaries.add(dictionary);
+        }
+      }
+
+    } finally {
+      if (executor != null) {
+        executor.shutdown();
+      }
+    }
+    return dictionaries;
+  }
 
-    } else {
-      spellChecker = spellCheckers.get(locale);
+  /**
+   * @return the dictionary, or null if it could not be loaded
+   */
+  private SpellDictionary getLoadedDictionary(FutureTask<SpellDictionary> task) {
+    try {
+      return task.get();
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new L10nValidationException("Interrupted while loading dictionaries", e);
+
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      // Skip the dictionary, as the other ones may still be used
+      logger.getLogger().error(cause);
+      return null;
+    }
+  }
+
+  /**
+   * Log the hit rate of the words cache of each SpellChecker built so far.
+   */
+  public void logCacheStatistics() {
+    for (Map.Entry<Locale, Future<CachingSpellChecker>> entry : spellCheckers.entrySet()) {
+      CachingSpellChecker spellChecker = getBuiltSpellChecker(entry.getValue());
+      if (spellChecker != null) {
+        this.logger.getLogger().info(
+            "SpellChecker cache for locale <" + entry.getKey() + "> : " + spellChecker.getHits() + " hits, "
+                + spellChecker.getMisses() + " misses (" + Math.round(spellChecker.getHitRate() * 100)
+                + "% hit rate), " + spellChecker.getSize() + " words");
+      }
+    }
+  }
+
+  /**
+   * @return the SpellChecker if successfully built, otherwise null
+   */
+  private CachingSpellChecker getBuiltSpellChecker(Future<CachingSpellChecker> future) {
+    CachingSpellChecker spellChecker = null;
+    if (future.isDone()) {
+      try {
+        spellChecker = future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        // Already reported by getSpellChecker
+      }
     }
     return spellChecker;
   }
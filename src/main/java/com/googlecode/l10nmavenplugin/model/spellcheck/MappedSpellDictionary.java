@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.model.spellcheck;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.swabunga.spell.engine.SpellDictionaryASpell;
+import com.swabunga.spell.engine.Word;
+
+/**
+ * Dictionary serving words from a memory mapped file in the format written by {@link BinaryDictionaryWriter}, usable
+ * both as a Jazzy dictionary and as a {@link SpellDictionary}.
+ * 
+ * Nothing is loaded on the heap, lookups being a binary search on phonetic codes comparing bytes in place. Pages are
+ * read from the OS page cache, and thus shared by all JVMs using the same file. Thread safe, and read only.
+ * 
+ * @since 1.9
+ */
+public class MappedSpellDictionary extends SpellDictionaryASpell implements SpellDictionary {
+
+  private static final int HEADER_SIZE = 12;
+
+  private final ByteBuffer buffer;
+
+  private final int nbCodes;
+
+  public MappedSpellDictionary(File file) throws IOException {
+    // Default DoubleMeta phonetic transformation, as used to write the file
+    super((File) null);
+
+    RandomAccessFile raf = new RandomAccessFile(file, "r");
+    try {
+      // Mapping remains valid once the channel is closed
+      buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+    } finally {
+      raf.close();
+    }
+
+    if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != BinaryDictionaryWriter.MAGIC) {
+      throw new IOException("Not a binary dictionary: " + file.getAbsolutePath());
+    }
+    int version = buffer.getInt(4);
+    if (version != BinaryDictionaryWriter.VERSION) {
+      throw new IOException("Unsupported binary dictionary version " + version + ": " + file.getAbsolutePath());
+    }
+    nbCodes = buffer.getInt(8);
+  }
+
+  /**
+   * @return the words with a given phonetic code, never null
+   */
+  @Override
+  public List getWords(String code) {
+    int entry = findEntry(encode(code));
+    if (entry < 0) {
+      return Collections.EMPTY_LIST;
+    }
+
+    // Skip the code
+    int position = entry + 2 + getUnsignedShort(entry);
+    int nbWords = getUnsignedShort(position);
+    position += 2;
+
+    List<String> words = new ArrayList<String>(nbWords);
+    for (int i = 0; i < nbWords; i++) {
+      int length = getUnsignedShort(position);
+      words.add(getString(position + 2, length));
+      position += 2 + length;
+    }
+    return words;
+  }
+
+  /**
+   * Same as Jazzy, i.e. the word or its lower case form has to be in the dictionary, but without decoding words.
+   */
+  @Override
+  public boolean isCorrect(String word) {
+    int entry = findEntry(encode(getCode(word)));
+    if (entry < 0) {
+      return false;
+    }
+    byte[] bytes = encode(word);
+    String lowerCaseWord = word.toLowerCase();
+    byte[] lowerCaseBytes = lowerCaseWord.equals(word) ? null : encode(lowerCaseWord);
+
+    int position = entry + 2 + getUnsignedShort(entry);
+    int nbWords = getUnsignedShort(position);
+    position += 2;
+    for (int i = 0; i < nbWords; i++) {
+      int length = getUnsignedShort(position);
+      if (compare(position + 2, length, bytes) == 0
+          || (lowerCaseBytes != null && compare(position + 2, length, lowerCaseBytes) == 0)) {
+        return true;
+      }
+      position += 2 + length;
+    }
+    return false;
+  }
+
+  /**
+   * Suggestions with the lowest edit distance, as computed by Jazzy.
+   */
+  public List<String> getSuggestions(String word) {
+    List<?> suggestions = getSuggestions(word, 1);
+    List<String> words = new ArrayList<String>(suggestions.size());
+    for (Object suggestion : suggestions) {
+      words.add(((Word) suggestion).getWord());
+    }
+    return words;
+  }
+
+  /**
+   * Read only dictionary
+   * 
+   * @return false
+   */
+  @Override
+  public boolean addWord(String word) {
+    return false;
+  }
+
+  /**
+   * @return the offset of the entry of a code, or -1 if absent
+   */
+  private int findEntry(byte[] code) {
+    int low = 0;
+    int high = nbCodes - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int entry = buffer.getInt(HEADER_SIZE + 4 * middle);
+      int comparison = compare(entry + 2, getUnsignedShort(entry), code);
+      if (comparison < 0) {
+        low = middle + 1;
+      } else if (comparison > 0) {
+        high = middle - 1;
+      } else {
+        return entry;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Compare bytes of the buffer to an array, as unsigned bytes, i.e. in the order of {@link BinaryDictionaryWriter}.
+   */
+  private int compare(int position, int length, byte[] bytes) {
+    int commonLength = Math.min(length, bytes.length);
+    for (int i = 0; i < commonLength; i++) {
+      // Absolute reads, so that the buffer can be shared across threads
+      int difference = (buffer.get(position + i) & 0xFF) - (bytes[i] & 0xFF);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return length - bytes.length;
+  }
+
+  private int getUnsignedShort(int position) {
+    return buffer.getShort(position) & 0xFFFF;
+  }
+
+  private String getString(int position, int length) {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      // Absolute reads, so that the buffer can be shared across threads
+      bytes[i] = buffer.get(position + i);
+    }
+    try {
+      return new String(bytes, "UTF-8");
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static byte[] encode(String s) {
+    try {
+      return s.getBytes("UTF-8");
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
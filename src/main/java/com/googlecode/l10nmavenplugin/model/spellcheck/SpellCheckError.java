@@ -15,24 +15,34 @@ import com.swabunga.spell.engine.Word;
 import com.swabunga.spell.event.SpellCheckEvent;
 import com.swabunga.spell.event.SpellChecker;
 
+/**
+ * Misspelled word, whose suggestion is only computed when requested, suggestions being far more expensive than lookups.
+ * 
+ */
 public class SpellCheckError {
   private String error;
   private String suggestion;
   private int position;
 
+  private SpellChecker spellChecker;
+
   public SpellCheckError(SpellCheckEvent event, SpellChecker spellChecker) {
     this.error = event.getInvalidWord();
     this.position = event.getWordContextPosition();
+    this.spellChecker = spellChecker;
+  }
 
-    // List<String> suggestions = event.getSuggestions();
-    List<Word> suggestions = spellChecker.getSuggestions(error, 1);
-
-    if (suggestions != null && suggestions.size() > 0) {
-      String firstSuggestion = suggestions.get(0).getWord();
-      if (!firstSuggestion.equals(this.error)) {
-        this.suggestion = firstSuggestion;
-      }
-    }
+  /**
+   * Error detected by a previous validation.
+   * 
+   * @param spellChecker
+   *          used to compute the suggestion, may be null if there is none
+   * @since 1.9
+   */
+  public SpellCheckError(String error, int position, SpellChecker spellChecker) {
+    this.error = error;
+    this.position = position;
+    this.spellChecker = spellChecker;
   }
 
   /**
@@ -43,9 +53,23 @@ public class SpellCheckError {
   }
 
   /**
-   * @return the suggestion
+   * Computed on first call. Not thread safe.
+   * 
+   * @return the suggestion, or null if none
    */
   public String getSuggestion() {
+    if (spellChecker != null) {
+      List<Word> suggestions = spellChecker.getSuggestions(error, 1);
+
+      if (suggestions != null && suggestions.size() > 0) {
+        String firstSuggestion = suggestions.get(0).getWord();
+        if (!firstSuggestion.equals(this.error)) {
+          this.suggestion = firstSuggestion;
+        }
+      }
+      // Computed only once
+      spellChecker = null;
+    }
     return suggestion;
   }
 
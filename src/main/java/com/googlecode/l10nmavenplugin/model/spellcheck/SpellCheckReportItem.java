@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.model.spellcheck;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.commons.lang.StringUtils;
+
+import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+import com.googlecode.l10nmavenplugin.model.Property;
+
+/**
+ * Spellcheck {@link L10nReportItem}, whose suggested correction is only computed when requested, i.e. by the report
+ * for the items it displays.
+ * 
+ * @since 1.9
+ */
+public class SpellCheckReportItem extends L10nReportItem {
+
+  private final Locale locale;
+
+  private final List<SpellCheckError> errors;
+
+  private String correction;
+
+  private boolean corrected;
+
+  /**
+   * @param itemMessage
+   *          description of the errors
+   * @param property
+   *          the misspelled property
+   * @param locale
+   *          the locale the property was spellchecked with
+   * @param errors
+   *          the errors detected in the property message, in order
+   */
+  public SpellCheckReportItem(String itemMessage, Property property, Locale locale, List<SpellCheckError> errors) {
+    super(Type.SPELLCHECK, itemMessage, property, null);
+    this.locale = locale;
+    this.errors = errors;
+  }
+
+  /**
+   * Item of a previous validation, i.e. replayed from cache.
+   */
+  public SpellCheckReportItem(String itemMessage, String propertiesName, String propertiesKey, String propertiesValue,
+      int lineNumber, int columnNumber, Locale locale, List<SpellCheckError> errors) {
+    super(Type.SPELLCHECK, itemMessage, propertiesName, propertiesKey, propertiesValue, null, lineNumber, columnNumber);
+    this.locale = locale;
+    this.errors = errors;
+  }
+
+  /**
+   * @return the locale the property was spellchecked with
+   */
+  public Locale getLocale() {
+    return locale;
+  }
+
+  /**
+   * @return the errors detected in the property message, in order
+   */
+  public List<SpellCheckError> getErrors() {
+    return errors;
+  }
+
+  /**
+   * Computed on first call.
+   * 
+   * @return the message with errors replaced by suggestions, or null if there is no suggestion
+   */
+  @Override
+  public synchronized String getSuggestion() {
+    if (!corrected) {
+      correction = getCorrection(getPropertiesValue(), errors);
+      corrected = true;
+    }
+    return correction;
+  }
+
+  /**
+   * @return the message with errors replaced by suggestions, or null if there is no suggestion
+   */
+  public static String getCorrection(String message, List<SpellCheckError> errors) {
+    String correction = message;
+    boolean suggested = false;
+
+    // Start from last errors, so that error position remains valid
+    for (int i = errors.size() - 1; i >= 0; i--) {
+      SpellCheckError error = errors.get(i);
+      if (error.getSuggestion() != null) {
+        int pos = error.getPosition();
+        correction = StringUtils.overlay(correction, error.getSuggestion(), pos, pos + error.getError().length());
+        suggested = true;
+      }
+    }
+    return suggested ? correction : null;
+  }
+}
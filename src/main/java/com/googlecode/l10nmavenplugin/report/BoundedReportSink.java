@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.report;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+
+/**
+ * {@link ReportSink} keeping in memory at most a given number of items per type, while still counting all of them.
+ * <p>
+ * Used for the site report, where thousands of identical warnings are not readable anyway.
+ * 
+ * @since 1.9
+ */
+public class BoundedReportSink extends CountingReportSink {
+
+  private final int maxItemsPerType;
+
+  private final List<L10nReportItem> reportItems = new ArrayList<L10nReportItem>();
+
+  /**
+   * @param maxItemsPerType
+   *          maximum number of items kept for each type
+   */
+  public BoundedReportSink(int maxItemsPerType) {
+    this.maxItemsPerType = maxItemsPerType;
+  }
+
+  @Override
+  public void add(L10nReportItem reportItem) {
+    super.add(reportItem);
+    if (getNbItems(reportItem.getItemType()) <= maxItemsPerType) {
+      reportItems.add(reportItem);
+    }
+  }
+
+  /**
+   * @return items kept, in the order they were added
+   */
+  public List<L10nReportItem> getReportItems() {
+    return reportItems;
+  }
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.report;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+import com.googlecode.l10nmavenplugin.model.L10nReportItem.Type;
+
+/**
+ * {@link ReportSink} only counting items per type, using constant memory.
+ * 
+ * @since 1.9
+ */
+public class CountingReportSink implements ReportSink {
+
+  private final Map<Type, Integer> counts = new EnumMap<Type, Integer>(Type.class);
+
+  private int nbItems;
+
+  public void add(L10nReportItem reportItem) {
+    Integer count = counts.get(reportItem.getItemType());
+    counts.put(reportItem.getItemType(), (count == null) ? 1 : count + 1);
+    nbItems++;
+  }
+
+  public void close() {
+    // Nothing to release
+  }
+
+  public int getNbItems() {
+    return nbItems;
+  }
+
+  public int getNbItems(Type type) {
+    Integer count = counts.get(type);
+    return (count == null) ? 0 : count;
+  }
+
+  /**
+   * @return number of items per type, for types having at least one item
+   */
+  public Map<Type, Integer> getCounts() {
+    return Collections.unmodifiableMap(counts);
+  }
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.report;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+import com.googlecode.l10nmavenplugin.validators.L10nValidationException;
+
+/**
+ * {@link ReportSink} writing each item as a JSON object on its own line (JSON Lines), while counting them.
+ * <p>
+ * Items are written as soon as they are added, so that memory usage does not depend on the number of items.
+ * 
+ * @since 1.9
+ */
+public class JsonLinesReportSink extends CountingReportSink {
+
+  private static final String ENCODING = "UTF-8";
+
+  private final File file;
+
+  private final Writer writer;
+
+  /**
+   * @param file
+   *          the file to write, overwritten if it exists
+   */
+  public JsonLinesReportSink(File file) {
+    this.file = file;
+    try {
+      File parent = file.getAbsoluteFile().getParentFile();
+      if (parent != null) {
+        parent.mkdirs();
+      }
+      writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), ENCODING));
+    } catch (IOException e) {
+      throw new L10nValidationException("Could not create report file " + file.getPath(), e);
+    }
+  }
+
+  @Override
+  public void add(L10nReportItem reportItem) {
+    super.add(reportItem);
+    StringBuilder sb = new StringBuilder(256);
+    sb.append('{');
+    appendField(sb, "type", reportItem.getItemType().name()).append(',');
+    appendField(sb, "severity", reportItem.getItemSeverity().name()).append(',');
+    appendField(sb, "file", reportItem.getPropertiesName()).append(',');
+    sb.append("\"line\":").append(reportItem.getLineNumber()).append(',');
+    sb.append("\"column\":").append(reportItem.getColumnNumber()).append(',');
+    appendField(sb, "key", reportItem.getPropertiesKey()).append(',');
+    appendField(sb, "message", reportItem.getItemMessage()).append(',');
+    appendField(sb, "value", reportItem.getPropertiesValue()).append(',');
+    appendField(sb, "formattedValue", reportItem.getFormattedPropertiesValue());
+    sb.append("}\n");
+    try {
+      writer.write(sb.toString());
+    } catch (IOException e) {
+      throw new L10nValidationException("Could not write report file " + file.getPath(), e);
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      writer.close();
+    } catch (IOException e) {
+      throw new L10nValidationException("Could not write report file " + file.getPath(), e);
+    }
+  }
+
+  private StringBuilder appendField(StringBuilder sb, String name, String value) {
+    sb.append('"').append(name).append("\":");
+    if (value == null) {
+      sb.append("null");
+    } else {
+      sb.append('"');
+      appendEscaped(sb, value);
+      sb.append('"');
+    }
+    return sb;
+  }
+
+  private void appendEscaped(StringBuilder sb, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+      case '"':
+        sb.append("\\\"");
+        break;
+      case '\\':
+        sb.append("\\\\");
+        break;
+      case '\n':
+        sb.append("\\n");
+        break;
+      case '\r':
+        sb.append("\\r");
+        break;
+      case '\t':
+        sb.append("\\t");
+        break;
+      default:
+        if (c < 0x20) {
+          sb.append(String.format("\\u%04x", (int) c));
+        } else {
+          sb.append(c);
+        }
+      }
+    }
+  }
+}
@@ -48,6 +48,11 @@ public class L10nReportRenderer extends AbstractMavenReportRenderer {
    */
   private Map<Type, List<L10nReportItem>> reportItemsByType;
 
+  /**
+   * Total number of items by types, if not all items are displayed
+   */
+  private Map<Type, Integer> itemCounts;
+
   /**
    * index of the item
    */
@@ -92,7 +97,8 @@ public class L10nReportRenderer extends AbstractMavenReportRenderer {
 
     sink.list();
     for (Entry<Type, List<L10nReportItem>> entry : reportItemsByType.entrySet()) {
-      renderReportSummaryEntry(entry.getKey(), entry.getValue().size());
+      Integer count = (itemCounts != null) ? itemCounts.get(entry.getKey()) : null;
+      renderReportSummaryEntry(entry.getKey(), (count != null) ? count : entry.getValue().size());
     }
     sink.list_();
   }
@@ -159,18 +165,36 @@ public class L10nReportRenderer extends AbstractMavenReportRenderer {
     }
 
     endTable();
+    renderNotDisplayedItems(itemType, reportItems.size());
     endSection();
     sink.horizontalRule();
     link("#summary", bundle.getString("report.dashboard.title.up"));
   }
 
+  /**
+   * Tell the reader when only part of the items of the type were kept
+   */
+  private void renderNotDisplayedItems(Type itemType, int nbDisplayed) {
+    Integer count = (itemCounts != null) ? itemCounts.get(itemType) : null;
+    if (count != null && count > nbDisplayed) {
+      paragraph(MessageFormat.format(bundle.getString("report.dashboard.text.truncated"), count - nbDisplayed));
+    }
+  }
+
   private void renderL10nReportItem(L10nReportItem reportItem) {
     // Can't use super.tableRow, as it consumes some {}
     sink.tableRow();
     rendreCell(String.valueOf(index));
     rendreCell(reportItem.getPropertiesKey());
-    rendreCell(reportItem.getPropertiesName());
-    rendreCell(reportItem.getItemMessage());
+    rendreCell(reportItem.getPropertiesLocation());
+    // Suggestion is only computed for the items actually displayed
+    String suggestion = reportItem.getSuggestion();
+    if (suggestion != null) {
+      rendreCell(reportItem.getItemMessage() + " "
+          + MessageFormat.format(bundle.getString("report.dashboard.messages.suggestion"), suggestion));
+    } else {
+      rendreCell(reportItem.getItemMessage());
+    }
     rendreCell(("[" + reportItem.getPropertiesValue() + "]"));
     sink.tableRow_();
 
@@ -189,6 +213,13 @@ public class L10nReportRenderer extends AbstractMavenReportRenderer {
     this.reportItemsByType = L10nReportItem.byType(reportItems);
   }
 
+  /**
+   * Total number of items by types, to display in the summary when only part of the items are rendered.
+   */
+  public void setItemCounts(Map<Type, Integer> itemCounts) {
+    this.itemCounts = itemCounts;
+  }
+
   public int getNbErrors() {
     return nbErrors;
   }
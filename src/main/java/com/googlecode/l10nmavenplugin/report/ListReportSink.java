@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.report;
+
+import java.util.List;
+
+import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+
+/**
+ * {@link ReportSink} appending items to a list, for callers still expecting all items in memory.
+ * 
+ * @since 1.9
+ */
+public class ListReportSink implements ReportSink {
+
+  private final List<L10nReportItem> reportItems;
+
+  public ListReportSink(List<L10nReportItem> reportItems) {
+    this.reportItems = reportItems;
+  }
+
+  public void add(L10nReportItem reportItem) {
+    reportItems.add(reportItem);
+  }
+
+  public void close() {
+    // The list is owned by the caller
+  }
+}
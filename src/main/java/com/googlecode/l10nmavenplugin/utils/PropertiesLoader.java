@@ -4,10 +4,16 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
 import java.util.Properties;
 
 import com.googlecode.l10nmavenplugin.log.L10nValidatorLogger;
 import com.googlecode.l10nmavenplugin.model.BundlePropertiesFile;
+import com.googlecode.l10nmavenplugin.model.IndexedPropertiesFile;
+import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+import com.googlecode.l10nmavenplugin.model.L10nReportItem.Type;
 import com.googlecode.l10nmavenplugin.model.PropertiesFile;
 import com.googlecode.l10nmavenplugin.validators.L10nValidationException;
 
@@ -49,6 +55,50 @@ public class PropertiesLoader {
     return propertiesFile;
   }
 
+  /**
+   * Load a single properties file into an immutable {@link IndexedPropertiesFile}, reporting duplicate keys.
+   * <p>
+   * The digest of the file content is computed from the bytes read for parsing, so that the file does not need to be
+   * read again to detect changes.
+   * 
+   * @param reportItems
+   *          list to update with {@link Type#DUPLICATE_KEY} items
+   * @since 1.9
+   */
+  public PropertiesFile loadPropertiesFile(File file, File rootDir, final List<L10nReportItem> reportItems) {
+    logger.getLogger().debug("Loading " + file.getPath() + "...");
+
+    final String fileName = getRelativeFileName(file, rootDir);
+    final IndexedPropertiesFile.Builder builder = new IndexedPropertiesFile.Builder(fileName);
+    try {
+      MessageDigest digest = MessageDigest.getInstance(IndexedPropertiesFile.DIGEST_ALGORITHM);
+      PropertiesParser.parse(file, new PropertiesParser.Handler() {
+        public void property(String key, String value, int lineNumber, int columnNumber) {
+          String previousValue = builder.put(key, value, lineNumber, columnNumber);
+          if (previousValue != null) {
+            L10nReportItem reportItem = new L10nReportItem(Type.DUPLICATE_KEY, "Duplicate key for existing value ["
+                + previousValue + "]", fileName, key, value, null, lineNumber, columnNumber);
+            reportItems.add(reportItem);
+            logger.log(reportItem);
+          }
+        }
+      }, digest);
+      builder.setContentDigest(digest.digest());
+
+    } catch (NoSuchAlgorithmException e) {
+      throw new L10nValidationException("An unexpected exception has occured while loading properties.", e);
+
+    } catch (IllegalArgumentException e) {
+      // Add file details to the exception
+      throw new IllegalArgumentException("The file <" + file.getPath()
+          + "> could not be loaded. Check for a malformed Unicode escape sequence.", e);
+
+    } catch (IOException e) {
+      throw new L10nValidationException("An unexpected exception has occured while loading properties.", e);
+    }
+    return builder.build();
+  }
+
   /**
    * Get the relative fileName of file inside rootDir, without prefix.
    */
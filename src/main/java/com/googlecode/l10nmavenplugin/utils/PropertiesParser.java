@@ -0,0 +1,338 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+
+/**
+ * Parser of .properties files, following the format of {@link java.util.Properties#load(java.io.InputStream)}:
+ * ISO-8859-1 encoding, \\uxxxx escapes, line continuations, comments, and '=', ':' or whitespace separators.
+ * <p>
+ * Characters are decoded straight from a {@link ByteBuffer} holding the whole file, reused by the thread for small
+ * files. Files are not memory mapped, as a mapping locks the file on Windows until it is garbage collected, which
+ * prevents editing sources in long-lived JVMs. Resources are reported with the line and column they start at.
+ * <p>
+ * Not thread safe, a parser instance is meant to parse a single buffer.
+ * 
+ * @since 1.9
+ */
+public class PropertiesParser {
+
+  /**
+   * Callback notified of each resource, in file order
+   */
+  public interface Handler {
+
+    /**
+     * @param key
+     * @param value
+     * @param lineNumber
+     *          line of the file where the resource starts, starting at 1
+     * @param columnNumber
+     *          column of the line where the key starts, starting at 1
+     */
+    void property(String key, String value, int lineNumber, int columnNumber);
+  }
+
+  /**
+   * Files from this size are read into their own buffer, smaller ones into a buffer reused by the thread.
+   */
+  protected static final int MAX_REUSED_BUFFER_SIZE = 256 * 1024;
+
+  private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+
+  private static final ThreadLocal<ByteBuffer> BUFFERS = new ThreadLocal<ByteBuffer>() {
+    @Override
+    protected ByteBuffer initialValue() {
+      return ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    }
+  };
+
+  private static final int END_OF_LINE = -1;
+
+  private final ByteBuffer buffer;
+
+  private final int limit;
+
+  private int position;
+
+  private int lineNumber = 1;
+
+  /**
+   * Position of the first character of the current natural line
+   */
+  private int lineStart;
+
+  /**
+   * Whether the last character returned by {@link #next()} was escaped
+   */
+  private boolean escaped;
+
+  /**
+   * Character read ahead by {@link #skipWhitespaces(boolean)}, or END_OF_LINE
+   */
+  private int pushedBack = END_OF_LINE;
+
+  private boolean pushedBackEscaped;
+
+  private final StringBuilder key = new StringBuilder();
+
+  private final StringBuilder value = new StringBuilder();
+
+  /**
+   * @param buffer
+   *          content to parse, from its position to its limit
+   */
+  public PropertiesParser(ByteBuffer buffer) {
+    this.buffer = buffer;
+    this.position = buffer.position();
+    this.lineStart = position;
+    this.limit = buffer.limit();
+  }
+
+  /**
+   * Parse a file.
+   * 
+   * @throws IllegalArgumentException
+   *           in case of malformed \\uxxxx escape
+   */
+  public static void parse(File file, Handler handler) throws IOException {
+    parse(file, handler, null);
+  }
+
+  /**
+   * Parse a file, updating a digest with its raw content read for parsing.
+   * 
+   * @param digest
+   *          may be null
+   * @throws IllegalArgumentException
+   *           in case of malformed \\uxxxx escape
+   * @since 1.9
+   */
+  public static void parse(File file, Handler handler, MessageDigest digest) throws IOException {
+    FileInputStream in = new FileInputStream(file);
+    try {
+      FileChannel channel = in.getChannel();
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("File too large: " + file.getAbsolutePath());
+      }
+      ByteBuffer buffer;
+      if (size >= MAX_REUSED_BUFFER_SIZE) {
+        // Not kept by the thread, to bound the memory held between files
+        buffer = ByteBuffer.allocate((int) size);
+      } else {
+        buffer = getBuffer((int) size);
+      }
+      while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+        // Read whole file
+      }
+      buffer.flip();
+      if (digest != null) {
+        digest.update(buffer.duplicate());
+      }
+      new PropertiesParser(buffer).parse(handler);
+    } finally {
+      in.close();
+    }
+  }
+
+  private static ByteBuffer getBuffer(int size) {
+    ByteBuffer buffer = BUFFERS.get();
+    if (buffer.capacity() < size) {
+      buffer = ByteBuffer.allocate(Math.max(size, 2 * buffer.capacity()));
+      BUFFERS.set(buffer);
+    }
+    buffer.clear();
+    buffer.limit(size);
+    return buffer;
+  }
+
+  /**
+   * Parse the whole buffer.
+   * 
+   * @throws IllegalArgumentException
+   *           in case of malformed \\uxxxx escape
+   */
+  public void parse(Handler handler) {
+    while (position < limit) {
+      char c = charAt(position);
+      if (c == ' ' || c == '\t' || c == '\f') {
+        // Leading whitespaces of a line
+        position++;
+
+      } else if (c == '\n' || c == '\r') {
+        skipLineTerminator();
+
+      } else if (c == '#' || c == '!') {
+        // Comment, up to the end of the natural line
+        while (position < limit && charAt(position) != '\n' && charAt(position) != '\r') {
+          position++;
+        }
+
+      } else {
+        int propertyLineNumber = lineNumber;
+        int propertyColumnNumber = position - lineStart + 1;
+        parseProperty();
+        handler.property(key.toString(), value.toString(), propertyLineNumber, propertyColumnNumber);
+      }
+    }
+  }
+
+  /**
+   * Parse a logical line into key and value
+   */
+  private void parseProperty() {
+    key.setLength(0);
+    value.setLength(0);
+
+    boolean hasSeparator = false;
+    int c;
+    while ((c = next()) != END_OF_LINE) {
+      if (!escaped && (c == '=' || c == ':')) {
+        hasSeparator = true;
+        break;
+      } else if (!escaped && isWhitespace(c)) {
+        break;
+      }
+      key.append((char) c);
+    }
+
+    if (c != END_OF_LINE) {
+      skipWhitespaces(!hasSeparator);
+      while ((c = next()) != END_OF_LINE) {
+        value.append((char) c);
+      }
+    }
+  }
+
+  /**
+   * Skip whitespaces before the value, and at most one separator if allowed.
+   */
+  private void skipWhitespaces(boolean allowSeparator) {
+    int c;
+    while ((c = next()) != END_OF_LINE) {
+      if (!escaped && allowSeparator && (c == '=' || c == ':')) {
+        allowSeparator = false;
+      } else if (escaped || !isWhitespace(c)) {
+        pushedBack = c;
+        pushedBackEscaped = escaped;
+        break;
+      }
+    }
+  }
+
+  /**
+   * Next character of the logical line, with escapes and line continuations processed.
+   * 
+   * @return END_OF_LINE at the end of the logical line, the line terminator being left for {@link #parse(Handler)}
+   */
+  private int next() {
+    if (pushedBack != END_OF_LINE) {
+      int c = pushedBack;
+      escaped = pushedBackEscaped;
+      pushedBack = END_OF_LINE;
+      return c;
+    }
+
+    while (position < limit) {
+      char c = charAt(position);
+      if (c == '\n' || c == '\r') {
+        return END_OF_LINE;
+      }
+      position++;
+      if (c != '\\') {
+        escaped = false;
+        return c;
+      }
+
+      if (position == limit) {
+        // Trailing backslash is dropped
+        break;
+      }
+      c = charAt(position);
+      if (c == '\n' || c == '\r') {
+        // Line continuation, leading whitespaces of the next line are ignored
+        skipLineTerminator();
+        while (position < limit && isWhitespace(charAt(position))) {
+          position++;
+        }
+      } else {
+        position++;
+        escaped = true;
+        return unescape(c);
+      }
+    }
+    return END_OF_LINE;
+  }
+
+  private char unescape(char c) {
+    char unescaped;
+    switch (c) {
+    case 't':
+      unescaped = '\t';
+      break;
+    case 'r':
+      unescaped = '\r';
+      break;
+    case 'n':
+      unescaped = '\n';
+      break;
+    case 'f':
+      unescaped = '\f';
+      break;
+    case 'u':
+      unescaped = readUnicode();
+      break;
+    default:
+      unescaped = c;
+      break;
+    }
+    return unescaped;
+  }
+
+  private char readUnicode() {
+    int unicode = 0;
+    for (int i = 0; i < 4; i++) {
+      int digit = (position < limit) ? Character.digit(charAt(position), 16) : -1;
+      if (digit < 0) {
+        throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+      }
+      unicode = (unicode << 4) + digit;
+      position++;
+    }
+    return (char) unicode;
+  }
+
+  private void skipLineTerminator() {
+    if (charAt(position) == '\r' && position + 1 < limit && charAt(position + 1) == '\n') {
+      position++;
+    }
+    position++;
+    lineNumber++;
+    lineStart = position;
+  }
+
+  /**
+   * ISO-8859-1 decoding
+   */
+  private char charAt(int index) {
+    return (char) (buffer.get(index) & 0xFF);
+  }
+
+  private boolean isWhitespace(int c) {
+    return c == ' ' || c == '\t' || c == '\f';
+  }
+}
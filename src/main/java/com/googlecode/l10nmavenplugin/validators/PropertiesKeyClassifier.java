@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.validators;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Classifier of properties keys against all the key naming conventions of the plugin (html, js, url, text, custom
+ * patterns, excluded keys).
+ * <p>
+ * All the patterns of all the conventions are compiled into a single Aho-Corasick automaton, so that a key is
+ * classified in one pass whatever the number of patterns. Classifications are cached per key, so that the properties
+ * of a family sharing the same key in all locales are only classified once.
+ * <p>
+ * As with {@link org.apache.commons.lang.StringUtils#indexOfAny(String, String[])}, a key matches a convention if it
+ * contains any of its patterns.
+ * 
+ * @since 1.9
+ */
+public class PropertiesKeyClassifier {
+
+  private final List<String[]> conventions = new ArrayList<String[]>();
+
+  private final ConcurrentMap<String, BitSet> classifications = new ConcurrentHashMap<String, BitSet>();
+
+  private volatile Node root;
+
+  /**
+   * Register a naming convention. Conventions can only be registered before the first key is classified.
+   * 
+   * @param keysPattern
+   *          the patterns of the convention, may be null
+   * @return the index of the convention, the same for identical patterns
+   */
+  public synchronized int register(String[] keysPattern) {
+    if (root != null) {
+      throw new IllegalStateException("Key conventions can not be registered once keys have been classified.");
+    }
+    for (int i = 0; i < conventions.size(); i++) {
+      if (Arrays.equals(conventions.get(i), keysPattern)) {
+        return i;
+      }
+    }
+    conventions.add(keysPattern);
+    return conventions.size() - 1;
+  }
+
+  /**
+   * @param key
+   *          the properties key
+   * @param convention
+   *          index of the convention, as returned by {@link #register(String[])}
+   * @return true if the key contains one of the patterns of the convention
+   */
+  public boolean matches(String key, int convention) {
+    if (key == null) {
+      return false;
+    }
+    BitSet classification = classifications.get(key);
+    if (classification == null) {
+      classification = classify(key);
+      classifications.putIfAbsent(key, classification);
+    }
+    return classification.get(convention);
+  }
+
+  /**
+   * Single pass of the automaton over the key, collecting the conventions of all the patterns it contains.
+   */
+  private BitSet classify(String key) {
+    Node root = getRoot();
+    BitSet classification = new BitSet();
+    Node node = root;
+    classification.or(node.conventions);
+    for (int i = 0; i < key.length(); i++) {
+      char c = key.charAt(i);
+      Node next = node.next(c);
+      while (next == null && node != root) {
+        node = node.fail;
+        next = node.next(c);
+      }
+      if (next != null) {
+        node = next;
+        classification.or(node.conventions);
+      }
+    }
+    return classification;
+  }
+
+  private Node getRoot() {
+    Node result = root;
+    if (result == null) {
+      synchronized (this) {
+        result = root;
+        if (result == null) {
+          result = compile();
+          root = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Build the trie of all patterns, then the failure links breadth first.
+   */
+  private Node compile() {
+    Node trie = new Node();
+    for (int i = 0; i < conventions.size(); i++) {
+      String[] keysPattern = conventions.get(i);
+      if (keysPattern != null) {
+        for (String pattern : keysPattern) {
+          if (pattern != null) {
+            trie.add(pattern, i);
+          }
+        }
+      }
+    }
+
+    Queue<Node> queue = new LinkedList<Node>();
+    trie.freeze();
+    for (Node child : trie.targets) {
+      child.fail = trie;
+      queue.add(child);
+    }
+    while (!queue.isEmpty()) {
+      Node node = queue.remove();
+      node.freeze();
+      for (int i = 0; i < node.labels.length; i++) {
+        char c = node.labels[i];
+        Node child = node.targets[i];
+        Node fail = node.fail;
+        while (fail.next(c) == null && fail != trie) {
+          fail = fail.fail;
+        }
+        Node failTarget = fail.next(c);
+        child.fail = (failTarget != null) ? failTarget : trie;
+        // Patterns ending at the failure state are suffixes of this one
+        child.conventions.or(child.fail.conventions);
+        queue.add(child);
+      }
+    }
+    return trie;
+  }
+
+  private static class Node {
+
+    private Map<Character, Node> children = new TreeMap<Character, Node>();
+
+    /**
+     * Sorted transitions, once frozen
+     */
+    private char[] labels;
+
+    private Node[] targets;
+
+    private Node fail;
+
+    private final BitSet conventions = new BitSet();
+
+    private void add(String pattern, int convention) {
+      Node node = this;
+      for (int i = 0; i < pattern.length(); i++) {
+        Character c = pattern.charAt(i);
+        Node child = node.children.get(c);
+        if (child == null) {
+          child = new Node();
+          node.children.put(c, child);
+        }
+        node = child;
+      }
+      node.conventions.set(convention);
+    }
+
+    private void freeze() {
+      labels = new char[children.size()];
+      targets = new Node[children.size()];
+      int i = 0;
+      for (Map.Entry<Character, Node> entry : children.entrySet()) {
+        labels[i] = entry.getKey();
+        targets[i] = entry.getValue();
+        i++;
+      }
+      children = null;
+    }
+
+    private Node next(char c) {
+      int index = Arrays.binarySearch(labels, c);
+      return (index >= 0) ? targets[index] : null;
+    }
+  }
+}
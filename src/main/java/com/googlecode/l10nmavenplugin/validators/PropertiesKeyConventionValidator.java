@@ -17,13 +17,31 @@ public abstract class PropertiesKeyConventionValidator extends AbstractL10nValid
 
   private final String[] keysPattern;
 
+  /**
+   * Optional classifier shared by all validators, compiling all conventions together
+   */
+  private PropertiesKeyClassifier keyClassifier;
+
+  private int convention;
+
   public PropertiesKeyConventionValidator(L10nValidatorLogger logger, String[] keysPattern) {
     super(logger);
     this.keysPattern = keysPattern;
   }
 
   protected boolean matches(String key) {
+    if (keyClassifier != null) {
+      return keyClassifier.matches(key, convention);
+    }
     return (StringUtils.indexOfAny(key, keysPattern) != -1);
   }
 
+  /**
+   * Register the keys pattern of this validator into a classifier, to be used instead of matching patterns one by one.
+   */
+  public void setKeyClassifier(PropertiesKeyClassifier keyClassifier) {
+    this.convention = keyClassifier.register(keysPattern);
+    this.keyClassifier = keyClassifier;
+  }
+
 }
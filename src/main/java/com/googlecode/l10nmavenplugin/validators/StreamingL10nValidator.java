@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.validators;
+
+import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+import com.googlecode.l10nmavenplugin.report.ReportSink;
+
+/**
+ * {@link L10nValidator} able to stream its report items to a {@link ReportSink}, so that they do not need to be all
+ * kept in memory.
+ * 
+ * @since 1.9
+ * 
+ * @param <T>
+ *          scope of the validation
+ */
+public interface StreamingL10nValidator<T> extends L10nValidator<T> {
+
+  /**
+   * Validate the syntax/coherence/elements of T
+   * 
+   * @param toValidate
+   *          the property/group/bundle to validate
+   * @param reportSink
+   *          sink to which validation issues should be added, not closed by this method
+   * @return number of reportItems with a severity {@link L10nReportItem.Severity#ERROR}
+   * 
+   * @throws L10nValidationException
+   *           in case of unexpected situation preventing from completing the validation
+   */
+  int validate(T toValidate, ReportSink reportSink) throws L10nValidationException;
+
+}
@@ -10,38 +10,38 @@
 package com.googlecode.l10nmavenplugin.validators.family;
 
 import java.io.IOException;
-import java.io.StringReader;
-import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.ErrorHandler;
+import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
 
+import com.googlecode.l10nmavenplugin.format.MessageAnalysis;
+import com.googlecode.l10nmavenplugin.format.MessageAnalysisCache;
 import com.googlecode.l10nmavenplugin.log.L10nValidatorLogger;
 import com.googlecode.l10nmavenplugin.model.L10nReportItem;
 import com.googlecode.l10nmavenplugin.model.L10nReportItem.Type;
 import com.googlecode.l10nmavenplugin.model.PropertiesFile;
 import com.googlecode.l10nmavenplugin.model.PropertiesFileUtils;
 import com.googlecode.l10nmavenplugin.model.PropertyFamily;
+import com.googlecode.l10nmavenplugin.validators.L10nValidationException;
 import com.googlecode.l10nmavenplugin.validators.L10nValidator;
 import com.googlecode.l10nmavenplugin.validators.PropertiesKeyConventionValidator;
-import com.googlecode.l10nmavenplugin.validators.property.HtmlValidator;
+import com.googlecode.l10nmavenplugin.validators.property.XhtmlFragmentReader;
 
 /**
  * Validator to check the coherence of HTML tag in translations of HTML resources.
@@ -61,136 +61,233 @@ import com.googlecode.l10nmavenplugin.validators.property.HtmlValidator;
  */
 public class HtmlTagCoherenceValidator extends PropertiesKeyConventionValidator implements L10nValidator<PropertyFamily> {
 
-  private DocumentBuilder dBuilder;
+  /**
+   * Separator of tags in signatures, that can't be part of a tag name
+   */
+  private static final char SEPARATOR = ' ';
 
-  public HtmlTagCoherenceValidator(L10nValidatorLogger logger, String[] htmlKeys) {
-    super(logger, htmlKeys);
+  private final SAXParserFactory saxParserFactory = SAXParserFactory.newInstance();
+
+  /**
+   * One parser per thread as {@link SAXParser} is not thread safe
+   */
+  private final ThreadLocal<SAXParser> parsers = new ThreadLocal<SAXParser>() {
+    @Override
+    protected SAXParser initialValue() {
+      try {
+        // JAXP factories are not guaranteed to be thread safe
+        synchronized (saxParserFactory) {
+          return saxParserFactory.newSAXParser();
+        }
 
-    DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
+      } catch (ParserConfigurationException e) {
+        throw new L10nValidationException("Could not initialize SAX parser", e);
+      } catch (SAXException e) {
+        throw new L10nValidationException("Could not initialize SAX parser", e);
+      }
+    }
+  };
 
-    try {
-      dBuilder = dbFactory.newDocumentBuilder();
-    } catch (ParserConfigurationException e) {
-      logger.getLogger().error("Could not initialize HtmlTagCoherenceValidator", e);
+  private final ThreadLocal<XhtmlFragmentReader> fragmentReaders = new ThreadLocal<XhtmlFragmentReader>() {
+    @Override
+    protected XhtmlFragmentReader initialValue() {
+      return new XhtmlFragmentReader();
     }
+  };
+
+  /**
+   * Optional cache of message analysis, to share tags of identical messages
+   */
+  private MessageAnalysisCache messageAnalysisCache;
+
+  public HtmlTagCoherenceValidator(L10nValidatorLogger logger, String[] htmlKeys) {
+    super(logger, htmlKeys);
   }
 
   /**
-   * Extract the XML tags, then WARN if order is not the same.
+   * Extract the XML tags signature, then WARN if it is not the same.
    */
   public int validate(PropertyFamily propertyFamily, List<L10nReportItem> reportItems) {
-    if (dBuilder != null) {
-      dBuilder.setErrorHandler(new SilentErrorHandler());
-      String key = propertyFamily.getKey();
-
-      Map<PropertiesFile, Collection<String>> tags = new HashMap<PropertiesFile, Collection<String>>();
-
-      for (PropertiesFile propertiesFile : propertyFamily.getExistingPropertyFiles()) {
-        String message = propertiesFile.getProperties().getProperty(key);
-
-        // Wrap message into a root XHTML tag
-        String xhtml = MessageFormat.format(HtmlValidator.XHTML_TEMPLATE, message);
-
-        StringReader sr = new StringReader(xhtml);
-        try {
-          Document htmlDoc = dBuilder.parse(new InputSource(sr));
-          // Extract the useful node from wrapping
-          Collection<String> tagList = getAllTags(htmlDoc.getLastChild().getLastChild().getFirstChild().getChildNodes());
-          tags.put(propertiesFile, tagList);
-
-        } catch (SAXException e) {
-          // Ignore those exceptions, will be handled by html validator
-          // logger.getLogger().error("SAXException while parsing [" + message +
-          // "]", e);
-        } catch (IOException e) {
-          logger.getLogger().error(e);
-        }
-      }
+    String key = propertyFamily.getKey();
 
-      Map<Collection<String>, Collection<PropertiesFile>> reverseMap = PropertiesFileUtils.reverseMap(tags);
-      Collection<String> majorityKey = PropertiesFileUtils.getMajorityKey(reverseMap);
-      Collection<PropertiesFile> majorityPropertiesNames = reverseMap.get(majorityKey);
+    Map<PropertiesFile, String> tags = new HashMap<PropertiesFile, String>();
 
-      for (Entry<Collection<String>, Collection<PropertiesFile>> entry : reverseMap.entrySet()) {
-        if (!entry.getKey().equals(majorityKey)) {
-          Collection<PropertiesFile> faultyPropertiesFiles = entry.getValue();
+    for (PropertiesFile propertiesFile : propertyFamily.getExistingPropertyFiles()) {
+      String message = propertiesFile.getProperty(key);
+
+      MessageAnalysis analysis = null;
+      if (messageAnalysisCache != null) {
+        analysis = messageAnalysisCache.analyze(message);
+        if (analysis.getTagSignature() != null) {
+          tags.put(propertiesFile, analysis.getTagSignature());
+          continue;
+        }
+      }
 
-          L10nReportItem reportItem = new L10nReportItem(Type.INCOHERENT_TAGS, "Incoherent usage of html tags: " + entry.getKey().toString() + " versus "
-              + majorityKey.toString() + " in <" + majorityPropertiesNames + ">", faultyPropertiesFiles.toString(), key, null, null);
-          reportItems.add(reportItem);
-          logger.log(reportItem);
+      try {
+        String signature = getTagSignature(message);
+        tags.put(propertiesFile, signature);
+        if (analysis != null) {
+          analysis.setTagSignature(signature);
         }
+
+      } catch (SAXException e) {
+        // Ignore those exceptions, will be handled by html validator
+      } catch (IOException e) {
+        logger.getLogger().error(e);
       }
+    }
+
+    Map<String, Collection<PropertiesFile>> reverseMap = PropertiesFileUtils.reverseMap(tags);
+    String majorityKey = PropertiesFileUtils.getMajorityKey(reverseMap);
+    Collection<PropertiesFile> majorityPropertiesNames = reverseMap.get(majorityKey);
 
+    for (Entry<String, Collection<PropertiesFile>> entry : reverseMap.entrySet()) {
+      if (!entry.getKey().equals(majorityKey)) {
+        Collection<PropertiesFile> faultyPropertiesFiles = entry.getValue();
+
+        L10nReportItem reportItem = new L10nReportItem(Type.INCOHERENT_TAGS, "Incoherent usage of html tags: " + displayTags(entry.getKey()) + " versus "
+            + displayTags(majorityKey) + " in <" + majorityPropertiesNames + ">", faultyPropertiesFiles.toString(), key, null, null);
+        reportItems.add(reportItem);
+        logger.log(reportItem);
+      }
     }
 
     return 0;
   }
 
   /**
-   * Get a list of tags ordered for a given level
+   * Compute the signature of the tags of a message, streaming the message wrapped into a root XHTML tag.
+   * 
+   * The signature lists the tag names, each tag being followed by the tags it contains, and sibling tags being ordered by name.
+   * 
+   * @throws SAXException
+   *           if message is not valid XML
    */
-  private Collection<String> getAllTags(NodeList nodeList) {
-    Collection<String> tags = new ArrayList<String>();
-
-    // Get the nodes
-    List<Node> elementNodes = new ArrayList<Node>();
-    for (int i = 0; i < nodeList.getLength(); i++) {
-      Node node = nodeList.item(i);
-      if (node.getNodeType() == Node.ELEMENT_NODE) {
-        elementNodes.add(node);
-      }
-    }
+  protected String getTagSignature(String message) throws SAXException, IOException {
+    TagSignatureHandler handler = new TagSignatureHandler();
+    parsers.get().parse(new InputSource(fragmentReaders.get().reset(message)), handler);
+    return handler.getSignature();
+  }
 
-    // Sort the nodes by lexicographic order
-    Collections.sort(elementNodes, new Comparator<Node>() {
-      public int compare(Node node1, Node node2) {
-        return node1.getNodeName().compareTo(node2.getNodeName());
-      }
-    });
+  /**
+   * Display a signature as a list of tags, i.e. [div, a]
+   */
+  private String displayTags(String signature) {
+    return "[" + signature.replace(String.valueOf(SEPARATOR), ", ") + "]";
+  }
 
-    // Build the final tag list recursively
-    for (Node node : elementNodes) {
-      tags.add(node.getNodeName());
-      if (node.hasChildNodes()) {
-        tags.addAll(getAllTags(node.getChildNodes()));
-      }
-    }
-    return tags;
+  public boolean shouldValidate(PropertyFamily propertyFamily) {
+    return matches(propertyFamily.getKey());
+  }
+
+  public void setMessageAnalysisCache(MessageAnalysisCache messageAnalysisCache) {
+    this.messageAnalysisCache = messageAnalysisCache;
   }
 
   /**
-   * ErrorHandler that silently catch fatalError that would otherwise be logged.
+   * SAX handler computing the tag signature, without keeping more than the signatures of the currently opened elements' children.
    * 
    */
-  private static class SilentErrorHandler implements ErrorHandler {
+  private static class TagSignatureHandler extends DefaultHandler {
+
+    /**
+     * Depth of the div wrapping the message inside the XHTML envelope (html/body/div)
+     */
+    private static final int ENVELOPE_DEPTH = 3;
+
+    private static final String ENVELOPE_TAG = "div";
+
+    private static final Comparator<Tag> BY_NAME = new Comparator<Tag>() {
+      public int compare(Tag tag1, Tag tag2) {
+        return tag1.name.compareTo(tag2.name);
+      }
+    };
+
+    /**
+     * Children of the opened elements, the root being the children of the envelope div
+     */
+    private final LinkedList<List<Tag>> openedChildren = new LinkedList<List<Tag>>();
+
+    private final LinkedList<String> openedNames = new LinkedList<String>();
+
+    private int depth = 0;
 
-    public void warning(SAXParseException e) throws SAXException {
+    private String signature;
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+      depth++;
+      if (!openedChildren.isEmpty() || (depth == ENVELOPE_DEPTH && ENVELOPE_TAG.equals(qName))) {
+        openedNames.addFirst(qName);
+        openedChildren.addFirst(new ArrayList<Tag>(2));
+      }
     }
 
-    public void error(SAXParseException e) throws SAXException {
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+      if (!openedChildren.isEmpty()) {
+        String name = openedNames.removeFirst();
+        String childrenSignature = getSignature(openedChildren.removeFirst());
+        if (openedChildren.isEmpty()) {
+          // End of the envelope div
+          signature = childrenSignature;
+        } else if (childrenSignature.length() == 0) {
+          openedChildren.getFirst().add(new Tag(name, name));
+        } else {
+          openedChildren.getFirst().add(new Tag(name, name + SEPARATOR + childrenSignature));
+        }
+      }
+      depth--;
     }
 
+    @Override
     public void fatalError(SAXParseException e) throws SAXException {
+      // Do not log, will be handled by html validator
+      throw e;
     }
-  }
-
-  private static class OrderedByNameNodeList implements NodeList {
 
-    public int getLength() {
-      // TODO Auto-generated method stub
-      return 0;
+    @Override
+    public void error(SAXParseException e) {
+      // Silently ignored
     }
 
-    public Node item(int index) {
-      // TODO Auto-generated method stub
-      return null;
+    private String getSignature(List<Tag> children) {
+      String childrenSignature;
+      if (children.isEmpty()) {
+        childrenSignature = "";
+      } else if (children.size() == 1) {
+        childrenSignature = children.get(0).signature;
+      } else {
+        // Stable sort, as siblings with same name may have different content
+        Collections.sort(children, BY_NAME);
+        StringBuilder sb = new StringBuilder();
+        for (Tag child : children) {
+          if (sb.length() > 0) {
+            sb.append(SEPARATOR);
+          }
+          sb.append(child.signature);
+        }
+        childrenSignature = sb.toString();
+      }
+      return childrenSignature;
     }
 
+    public String getSignature() {
+      return signature;
+    }
   }
 
-  public boolean shouldValidate(PropertyFamily propertyFamily) {
-    return matches(propertyFamily.getKey());
+  private static class Tag {
+
+    private final String name;
+
+    private final String signature;
+
+    public Tag(String name, String signature) {
+      this.name = name;
+      this.signature = signature;
+    }
   }
 
 }
@@ -58,7 +58,7 @@ public class ParametricCoherenceValidator extends AbstractL10nValidator implemen
     Collection<PropertiesFile> propertiesFiles = propertyFamily.getExistingPropertyFiles();
 
     for (PropertiesFile propertiesFile : propertiesFiles) {
-      String message = propertiesFile.getProperties().getProperty(key);
+      String message = propertiesFile.getProperty(key);
       List<Integer> parameters = formatter.captureParameters(message);
       if (parameters.size() > 0) {
         resourceParameters.put(propertiesFile, parameters);
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.validators.orchestrator;
+
+import java.util.List;
+
+import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+import com.googlecode.l10nmavenplugin.model.PropertiesFamily;
+import com.googlecode.l10nmavenplugin.validators.L10nValidator;
+
+/**
+ * {@link L10nValidator} of a bundle, also able to report on the items of a bundle that was not validated again, i.e.
+ * whose items were replayed from cache.
+ * 
+ * @since 1.9
+ */
+public interface BundleL10nValidator extends L10nValidator<PropertiesFamily> {
+
+  /**
+   * Report the items of a bundle the same way as if it had just been validated.
+   * 
+   * @param propertiesFamily
+   *          the validated bundle
+   * @param bundleItems
+   *          the items of the bundle only
+   */
+  void reportBundle(PropertiesFamily propertiesFamily, List<L10nReportItem> bundleItems);
+
+}
@@ -16,21 +16,27 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.SuffixFileFilter;
 import org.apache.commons.io.filefilter.TrueFileFilter;
-import org.apache.maven.plugin.MojoExecutionException;
 
 import com.googlecode.l10nmavenplugin.log.L10nValidatorLogger;
 import com.googlecode.l10nmavenplugin.model.BundlePropertiesFamily;
 import com.googlecode.l10nmavenplugin.model.L10nReportItem;
 import com.googlecode.l10nmavenplugin.model.PropertiesFamily;
 import com.googlecode.l10nmavenplugin.model.PropertiesFile;
+import com.googlecode.l10nmavenplugin.report.ListReportSink;
+import com.googlecode.l10nmavenplugin.report.ReportSink;
 import com.googlecode.l10nmavenplugin.utils.PropertiesLoader;
 import com.googlecode.l10nmavenplugin.validators.AbstractL10nValidator;
-import com.googlecode.l10nmavenplugin.validators.L10nValidator;
+import com.googlecode.l10nmavenplugin.validators.L10nValidationException;
+import com.googlecode.l10nmavenplugin.validators.StreamingL10nValidator;
 
 /**
  * Orchestrates the load and validation of Properties from a directory, handling the case of multiple bundles.
@@ -39,19 +45,31 @@ import com.googlecode.l10nmavenplugin.validators.L10nValidator;
  * @author romain.quinio
  * 
  */
-public class DirectoryValidator extends AbstractL10nValidator implements L10nValidator<File> {
+public class DirectoryValidator extends AbstractL10nValidator implements StreamingL10nValidator<File> {
 
-  private final L10nValidator<PropertiesFamily> propertiesFamilyValidator;
-
-  private final L10nValidator<File> duplicateKeysValidator;
+  private final BundleL10nValidator propertiesFamilyValidator;
 
   private final PropertiesLoader propertiesLoader;
 
-  public DirectoryValidator(L10nValidatorLogger logger, L10nValidator<PropertiesFamily> propertiesFamilyValidator,
-      L10nValidator<File> duplicateKeysValidator) {
+  /**
+   * Number of threads used to validate bundles, 1 meaning sequential validation.
+   */
+  private final int threads;
+
+  /**
+   * Optional cache of previous validation results.
+   */
+  private ValidationCache validationCache;
+
+  public DirectoryValidator(L10nValidatorLogger logger, BundleL10nValidator propertiesFamilyValidator) {
+    this(logger, propertiesFamilyValidator, 1);
+  }
+
+  public DirectoryValidator(L10nValidatorLogger logger, BundleL10nValidator propertiesFamilyValidator,
+      int threads) {
     super(logger);
     this.propertiesFamilyValidator = propertiesFamilyValidator;
-    this.duplicateKeysValidator = duplicateKeysValidator;
+    this.threads = threads;
 
     this.propertiesLoader = new PropertiesLoader(logger);
   }
@@ -64,21 +82,99 @@ public class DirectoryValidator extends AbstractL10nValidator implements L10nVal
    * @param reportItems
    *          list to update with validation errors/warn/info items
    * @return number of validation errors
-   * @throws MojoExecutionException
+   * @see #validate(File, ReportSink)
    */
   public int validate(File directory, List<L10nReportItem> reportItems) {
+    return validate(directory, new ListReportSink(reportItems));
+  }
+
+  /**
+   * Validate .properties files in a directory, grouped by bundle (aka PropertiesFamily), streaming items to a sink.
+   * 
+   * Each bundle is validated into its own list of items, that is flushed to the sink and released as soon as the bundle
+   * and all the previous ones are validated. Items are thus added in bundle order, whatever the number of threads, and
+   * only the items of the bundles being validated are kept in memory.
+   * 
+   * @param directory
+   *          the folder containing .properties files to validate
+   * @param reportSink
+   *          sink for validation errors/warn/info items, not closed by this method
+   * @return number of validation errors
+   */
+  public int validate(File directory, ReportSink reportSink) {
     int nbError = 0;
     List<PropertiesFamily> propertiesFamilies = new ArrayList<PropertiesFamily>();
-    nbError += loadPropertiesFamily(directory, reportItems, propertiesFamilies);
+    List<L10nReportItem> loadingItems = new ArrayList<L10nReportItem>();
+    nbError += loadPropertiesFamily(directory, loadingItems, propertiesFamilies);
+    flush(loadingItems, reportSink);
+
+    List<BundleValidation> bundleValidations = new ArrayList<BundleValidation>();
     for (PropertiesFamily propertiesFamily : propertiesFamilies) {
       if (propertiesFamily != null && propertiesFamily.getNbPropertiesFiles() > 0) {
-        nbError += propertiesFamilyValidator.validate(propertiesFamily, reportItems);
+        bundleValidations.add(new BundleValidation(directory, propertiesFamily));
       }
     }
 
+    if (threads > 1 && bundleValidations.size() > 1) {
+      nbError += validateInParallel(bundleValidations, reportSink);
+    } else {
+      for (BundleValidation bundleValidation : bundleValidations) {
+        nbError += bundleValidation.call();
+        flush(bundleValidation.getReportItems(), reportSink);
+      }
+    }
     return nbError;
   }
 
+  /**
+   * Fan bundles out to a pool of workers, flushing their items in bundle order as they complete.
+   * 
+   * @return number of validation errors
+   */
+  private int validateInParallel(List<BundleValidation> bundleValidations, ReportSink reportSink) {
+    int nbError = 0;
+    int nbThreads = Math.min(threads, bundleValidations.size());
+    logger.getLogger().info("Validating " + bundleValidations.size() + " bundles using " + nbThreads + " threads");
+
+    ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+    try {
+      List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+      for (BundleValidation bundleValidation : bundleValidations) {
+        results.add(executor.submit(bundleValidation));
+      }
+      for (int i = 0; i < results.size(); i++) {
+        nbError += results.get(i).get();
+        flush(bundleValidations.get(i).getReportItems(), reportSink);
+      }
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new L10nValidationException("Interrupted while validating bundles", e);
+
+    } catch (ExecutionException e) {
+      // Propagate original exception
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new L10nValidationException("An unexpected exception has occurred while validating bundles", cause);
+
+    } finally {
+      executor.shutdownNow();
+    }
+    return nbError;
+  }
+
+  /**
+   * Send items to the sink, and release them.
+   */
+  private void flush(List<L10nReportItem> reportItems, ReportSink reportSink) {
+    for (L10nReportItem reportItem : reportItems) {
+      reportSink.add(reportItem);
+    }
+    reportItems.clear();
+  }
+
   public boolean shouldValidate(File toValidate) {
     // Always validate
     return true;
@@ -104,11 +200,10 @@ public class DirectoryValidator extends AbstractL10nValidator implements L10nVal
 
     } else {
       for (File file : files) {
-        // Validate File
-        nbErrors += duplicateKeysValidator.validate(file, reportItems);
-
-        // Load it normally
-        propertiesFilesInDir.add(loadPropertiesFile(file, directory, reportItems));
+        // Duplicate keys are detected while loading, no need to parse the file twice
+        int nbItems = reportItems.size();
+        propertiesFilesInDir.add(propertiesLoader.loadPropertiesFile(file, directory, reportItems));
+        nbErrors += reportItems.size() - nbItems;
       }
     }
     propertiesFamilies.addAll(loadPropertiesFamily(propertiesFilesInDir));
@@ -143,11 +238,53 @@ public class DirectoryValidator extends AbstractL10nValidator implements L10nVal
     return bundleFiles.values();
   }
 
+  public void setValidationCache(ValidationCache validationCache) {
+    this.validationCache = validationCache;
+  }
+
   /**
-   * Load a single Properties file
+   * Validation of a single bundle, collecting items into its own list.
+   * 
+   * If a cache is configured and the bundle did not change since last validation, items are replayed from the cache.
    */
-  protected PropertiesFile loadPropertiesFile(File file, File rootDir, List<L10nReportItem> reportItems) {
-    Properties propertiesToFill = new Properties();
-    return propertiesLoader.loadPropertiesFile(file, rootDir, propertiesToFill);
+  private class BundleValidation implements Callable<Integer> {
+
+    private final File directory;
+
+    private final PropertiesFamily propertiesFamily;
+
+    private final List<L10nReportItem> reportItems = new ArrayList<L10nReportItem>();
+
+    public BundleValidation(File directory, PropertiesFamily propertiesFamily) {
+      this.directory = directory;
+      this.propertiesFamily = propertiesFamily;
+    }
+
+    public Integer call() {
+      if (validationCache == null) {
+        return propertiesFamilyValidator.validate(propertiesFamily, reportItems);
+      }
+
+      String key = validationCache.computeKey(directory, propertiesFamily);
+      Integer nbErrors = validationCache.replay(propertiesFamily, key, reportItems);
+      if (nbErrors != null) {
+        logger.getLogger().info(
+            "Bundle " + propertiesFamily.getBaseName() + " unchanged since last validation, replaying "
+                + reportItems.size() + " items from cache.");
+        for (L10nReportItem reportItem : reportItems) {
+          logger.log(reportItem);
+        }
+        // Same summary and csv as if the bundle was validated
+        propertiesFamilyValidator.reportBundle(propertiesFamily, reportItems);
+      } else {
+        nbErrors = propertiesFamilyValidator.validate(propertiesFamily, reportItems);
+        validationCache.store(propertiesFamily, key, nbErrors, reportItems);
+      }
+      return nbErrors;
+    }
+
+    public List<L10nReportItem> getReportItems() {
+      return reportItems;
+    }
   }
 }
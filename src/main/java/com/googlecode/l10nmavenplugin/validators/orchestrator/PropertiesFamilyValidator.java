@@ -13,7 +13,7 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -40,7 +40,7 @@ import com.googlecode.l10nmavenplugin.validators.L10nValidator;
  * @author romain.quinio
  * 
  */
-public class PropertiesFamilyValidator extends AbstractL10nValidator implements L10nValidator<PropertiesFamily> {
+public class PropertiesFamilyValidator extends AbstractL10nValidator implements BundleL10nValidator {
 
   private final L10nValidator<PropertyFamily> propertyFamilyValidator;
 
@@ -64,6 +64,7 @@ public class PropertiesFamilyValidator extends AbstractL10nValidator implements
    */
   public int validate(PropertiesFamily propertiesFamily, List<L10nReportItem> reportItems) {
     int nbErrors = 0;
+    int firstBundleItem = reportItems.size();
 
     // nbErrors += duplicationValidator.validate(propertiesFamily, reportItems);
 
@@ -80,28 +81,61 @@ public class PropertiesFamilyValidator extends AbstractL10nValidator implements
       }
     }
 
-    if (reportItems.size() > 0) {
-      logBundleValidationSummary(reportItems, propertiesFamily.getBaseName());
-      generateCsv(reportItems, propertiesFamily.getBaseName());
-    }
+    // Summary and csv only apply to the items of this bundle, not to the ones previously added to the list
+    reportBundle(propertiesFamily, reportItems.subList(firstBundleItem, reportItems.size()));
 
     return nbErrors;
   }
 
   /**
-   * Generate csv file (bundleBaseName.csv).
+   * Log the validation summary of a bundle and generate its csv files.
+   * 
+   * @since 1.9
+   */
+  public void reportBundle(PropertiesFamily propertiesFamily, List<L10nReportItem> bundleItems) {
+    if (bundleItems.size() > 0) {
+      logBundleValidationSummary(bundleItems, propertiesFamily.getBaseName());
+      generateCsv(bundleItems, propertiesFamily.getBaseName());
+    }
+  }
+
+  /**
+   * Generate csv files (bundleBaseName-severity.csv), in a single pass over the items.
    * 
    * Expects reportsDir top be a valid directory
    * 
+   * @param reportItems
+   *          items of the bundle, left unsorted
    */
   protected void generateCsv(List<L10nReportItem> reportItems, String bundleBaseName) {
-    Collections.sort(reportItems);
-    generateCsv(reportItems, bundleBaseName, Severity.ERROR);
-    generateCsv(reportItems, bundleBaseName, Severity.WARN);
-    generateCsv(reportItems, bundleBaseName, Severity.INFO);
+    Map<Severity, List<String>> entriesBySeverity = new EnumMap<Severity, List<String>>(Severity.class);
+    for (Severity severity : Severity.values()) {
+      entriesBySeverity.put(severity, new ArrayList<String>());
+    }
+    for (L10nReportItem reportItem : reportItems) {
+      entriesBySeverity.get(reportItem.getItemSeverity()).add(reportItem.getPropertiesKey());
+    }
+
+    writeSeverityCsv(entriesBySeverity.get(Severity.ERROR), bundleBaseName, Severity.ERROR);
+    writeSeverityCsv(entriesBySeverity.get(Severity.WARN), bundleBaseName, Severity.WARN);
+    writeSeverityCsv(entriesBySeverity.get(Severity.INFO), bundleBaseName, Severity.INFO);
   }
 
   protected File generateCsv(List<L10nReportItem> reportItems, String bundleBaseName, Severity severity) {
+    List<String> entries = new ArrayList<String>();
+    for (L10nReportItem reportItem : reportItems) {
+      if (severity.equals(reportItem.getItemSeverity())) {
+        entries.add(reportItem.getPropertiesKey());
+      }
+    }
+    return writeSeverityCsv(entries, bundleBaseName, severity);
+  }
+
+  /**
+   * @param entries
+   *          keys associated to the severity
+   */
+  private File writeSeverityCsv(List<String> entries, String bundleBaseName, Severity severity) {
     File csvFile = null;
 
     // Might be null in case of report goal
@@ -111,12 +145,6 @@ public class PropertiesFamilyValidator extends AbstractL10nValidator implements
 
       csvFile = new File(reportsDir, bundleBaseName + "-" + severity.toString() + ".csv");
 
-      List<String> entries = new ArrayList<String>();
-      for (L10nReportItem reportItem : reportItems) {
-        if (severity.equals(reportItem.getItemSeverity())) {
-          entries.add(reportItem.getPropertiesKey());
-        }
-      }
       if (entries.size() > 0) {
         logger.getLogger().info("Generating csv " + csvFile.getAbsolutePath() + " with keys associated to severity " + severity.toString());
         writeCsv(entries, csvFile);
@@ -153,14 +181,16 @@ public class PropertiesFamilyValidator extends AbstractL10nValidator implements
     logger.getLogger().info("--------------------");
     logger.getLogger().info("Bundle <" + bundleName + "> validation summary: " + reportItems.size() + " issues.");
 
-    Map<Type, List<L10nReportItem>> byType = L10nReportItem.byType(reportItems);
+    // Count without sorting, EnumMap keeps Type ordering
+    Map<Type, Integer> countByType = new EnumMap<Type, Integer>(Type.class);
+    for (L10nReportItem reportItem : reportItems) {
+      Integer nbType = countByType.get(reportItem.getItemType());
+      countByType.put(reportItem.getItemType(), (nbType == null) ? 1 : nbType + 1);
+    }
 
-    for (Entry<Type, List<L10nReportItem>> entry : byType.entrySet()) {
+    for (Entry<Type, Integer> entry : countByType.entrySet()) {
       Type type = entry.getKey();
-      int nbType = entry.getValue().size();
-      Severity severity = entry.getValue().iterator().next().getItemSeverity();
-
-      logger.log(severity, type + ": " + nbType);
+      logger.log(type.getSeverity(), type + ": " + entry.getValue());
     }
     logger.getLogger().info("--------------------\n");
 
@@ -10,7 +10,6 @@
 package com.googlecode.l10nmavenplugin.validators.orchestrator;
 
 import java.util.List;
-import java.util.Set;
 
 import com.googlecode.l10nmavenplugin.log.L10nValidatorLogger;
 import com.googlecode.l10nmavenplugin.model.L10nReportItem;
@@ -49,10 +48,8 @@ public class PropertiesFileValidator extends AbstractL10nValidator implements L1
     logger.info(propertiesFile.getFileName(), null, "Starting validation (locale: " + propertiesFile.getLocale() + ")...", null, null);
     int nbErrors = 0;
 
-    Set<Object> keys = propertiesFile.getProperties().keySet();
-    for (Object obj : keys) {
-      String key = (String) obj;
-      String message = propertiesFile.getProperties().getProperty(key);
+    for (String key : propertiesFile.getKeys()) {
+      String message = propertiesFile.getProperty(key);
 
       nbErrors += propertyValidator.validate(new PropertyImpl(key, message, propertiesFile), reportItems);
     }
@@ -38,7 +38,7 @@ public class PropertyFamilyValidator extends PropertiesKeyConventionValidator im
 
   private L10nValidator<PropertyFamily> htmlTagCoherenceValidator;
 
-  private L10nValidator<Property> propertyValidator;
+  private PropertyValidator propertyValidator;
 
   public PropertyFamilyValidator(L10nValidatorLogger logger, String[] excludedKeys) {
     super(logger, excludedKeys);
@@ -63,10 +63,19 @@ public class PropertyFamilyValidator extends PropertiesKeyConventionValidator im
     int nbErrors = 0;
     String key = propertyFamily.getKey();
 
+    // Exclusion and validator only depend on the key, resolve them once for all locales
+    Boolean excluded = null;
+    L10nValidator<Property> keyValidator = null;
     for (PropertiesFile propertiesFile : propertyFamily.getExistingPropertyFiles()) {
-      Property property = new PropertyImpl(key, propertiesFile.getProperties().getProperty(key), propertiesFile);
-      if (propertyValidator.shouldValidate(property)) {
-        nbErrors += propertyValidator.validate(property, reportItems);
+      Property property = new PropertyImpl(key, propertiesFile.getProperty(key), propertiesFile);
+      if (excluded == null) {
+        excluded = !propertyValidator.shouldValidate(property);
+        if (!excluded) {
+          keyValidator = propertyValidator.resolveValidator(property);
+        }
+      }
+      if (!excluded) {
+        nbErrors += propertyValidator.validate(property, keyValidator, reportItems);
       } else {
         // Property is excluded from validation
         L10nReportItem item = new L10nReportItem(Type.EXCLUDED, "Property was excluded from validation by plugin configuration.", propertyFamily
@@ -110,7 +119,7 @@ public class PropertyFamilyValidator extends PropertiesKeyConventionValidator im
     this.htmlTagCoherenceValidator = htmlTagCoherenceValidator;
   }
 
-  public void setPropertyValidator(L10nValidator<Property> propertyValidator) {
+  public void setPropertyValidator(PropertyValidator propertyValidator) {
     this.propertyValidator = propertyValidator;
   }
 }
@@ -65,6 +65,21 @@ public class PropertyValidator extends PropertiesKeyConventionValidator implemen
    * @return number of validation errors
    */
   public int validate(Property property, List<L10nReportItem> reportItems) {
+    return validate(property, resolveValidator(property), reportItems);
+  }
+
+  /**
+   * Validate a single property of a Properties file, with the validator already resolved for its key.
+   * 
+   * @param property
+   *          the property to validate
+   * @param keyValidator
+   *          the validator resolved by {@link #resolveValidator(Property)} for a property with the same key
+   * @param reportItems
+   *          list to update with validation errors/warn/info items
+   * @return number of validation errors
+   */
+  public int validate(Property property, L10nValidator<Property> keyValidator, List<L10nReportItem> reportItems) {
     int nbErrors = 0;
     String key = property.getKey();
 
@@ -77,44 +92,43 @@ public class PropertyValidator extends PropertiesKeyConventionValidator implemen
       nbErrors += trailingWhitespaceValidator.validate(property, reportItems);
       nbErrors += innerResourcesValidator.validate(property, reportItems);
 
-      boolean bMatched = false;
-      if (htmlValidator.shouldValidate(property)) {
-        bMatched = true;
-        nbErrors += htmlValidator.validate(property, reportItems);
+      nbErrors += keyValidator.validate(property, reportItems);
+    }
 
-      }
-      else if (jsValidator.shouldValidate(property)) {
-        bMatched = true;
-        nbErrors += jsValidator.validate(property, reportItems);
+    return nbErrors;
+  }
 
-      }
-      else if (urlValidator.shouldValidate(property)) {
-        bMatched = true;
-        nbErrors += urlValidator.validate(property, reportItems);
+  /**
+   * Resolve the validator to apply depending on the key naming conventions. As it only depends on the key, it can be
+   * resolved once for all the locales of a property.
+   * 
+   * @param property
+   *          a property with the key to resolve
+   * @return the first validator matching the key, or the default validator if none matched
+   */
+  public L10nValidator<Property> resolveValidator(Property property) {
+    L10nValidator<Property> keyValidator = defaultValidator;
+    if (htmlValidator.shouldValidate(property)) {
+      keyValidator = htmlValidator;
 
-      }
-      else if (plainTextValidator.shouldValidate(property)) {
-        bMatched = true;
-        nbErrors += plainTextValidator.validate(property, reportItems);
+    } else if (jsValidator.shouldValidate(property)) {
+      keyValidator = jsValidator;
 
-      }
-      else {
-        for (int i = 0; i < patternValidators.length; i++) {
-          if (patternValidators[i].shouldValidate(property)) {
-            bMatched = true;
-            nbErrors += patternValidators[i].validate(property, reportItems);
-            break;
-          }
-        }
-      }
+    } else if (urlValidator.shouldValidate(property)) {
+      keyValidator = urlValidator;
+
+    } else if (plainTextValidator.shouldValidate(property)) {
+      keyValidator = plainTextValidator;
 
-      if (!bMatched) {
-        // Nothing matched, apply defaultValidator
-        nbErrors += defaultValidator.validate(property, reportItems);
+    } else if (patternValidators != null) {
+      for (int i = 0; i < patternValidators.length; i++) {
+        if (patternValidators[i].shouldValidate(property)) {
+          keyValidator = patternValidators[i];
+          break;
+        }
       }
     }
-
-    return nbErrors;
+    return keyValidator;
   }
 
   /**
@@ -0,0 +1,378 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.validators.orchestrator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import com.googlecode.l10nmavenplugin.log.L10nValidatorLogger;
+import com.googlecode.l10nmavenplugin.model.IndexedPropertiesFile;
+import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+import com.googlecode.l10nmavenplugin.model.L10nReportItem.Type;
+import com.googlecode.l10nmavenplugin.model.PropertiesFamily;
+import com.googlecode.l10nmavenplugin.model.PropertiesFile;
+import com.googlecode.l10nmavenplugin.model.PropertiesFileUtils;
+import com.googlecode.l10nmavenplugin.model.spellcheck.CachingSpellChecker;
+import com.googlecode.l10nmavenplugin.model.spellcheck.LocaleSpellCheckerRepository;
+import com.googlecode.l10nmavenplugin.model.spellcheck.SpellCheckError;
+import com.googlecode.l10nmavenplugin.model.spellcheck.SpellCheckReportItem;
+import com.googlecode.l10nmavenplugin.validators.L10nValidationException;
+
+/**
+ * Persistent cache of bundle validation results, so that unchanged bundles do not need to be validated again.
+ * <p>
+ * Results are stored in one file per bundle, named after a digest of the bundle base name, along with a key computed from the content of the bundle files and from
+ * the plugin configuration. Any change to either of them invalidates the cached results.
+ *
+ * @since 1.9
+ */
+public class ValidationCache {
+
+  /**
+   * Version of the cache file format, to increment on any change of the format.
+   */
+  private static final int FORMAT_VERSION = 3;
+
+  private static final String DIGEST_ALGORITHM = IndexedPropertiesFile.DIGEST_ALGORITHM;
+
+  private static final String ENCODING = "UTF-8";
+
+  private static final int BUFFER_SIZE = 8192;
+
+  /**
+   * Minimum size of a stored item: 6 string lengths, line, column and number of spellcheck errors
+   */
+  private static final int MIN_ITEM_SIZE = 9 * 4;
+
+  /**
+   * Size of a stored spellcheck error: word length and position
+   */
+  private static final int MIN_ERROR_SIZE = 2 * 4;
+
+  /**
+   * Number of spellcheck errors of items that are not {@link SpellCheckReportItem}s
+   */
+  private static final int NO_SPELLCHECK_ERRORS = -1;
+
+  private static final String CACHE_FILE_EXTENSION = ".cache";
+
+  private final L10nValidatorLogger logger;
+
+  private final File cacheDir;
+
+  private final String configurationFingerprint;
+
+  /**
+   * Optional, to compute the suggestions of replayed spellcheck items
+   */
+  private LocaleSpellCheckerRepository spellCheckerRepository;
+
+  /**
+   * @param logger
+   * @param cacheDir
+   *          the directory where to store cache files
+   * @param configurationFingerprint
+   *          description of the plugin configuration affecting validation results
+   */
+  public ValidationCache(L10nValidatorLogger logger, File cacheDir, String configurationFingerprint) {
+    this.logger = logger;
+    this.cacheDir = cacheDir;
+    this.configurationFingerprint = configurationFingerprint;
+  }
+
+  /**
+   * Compute the key of a bundle, from the configuration and the content of its files.
+   * <p>
+   * The digests computed while loading the files are used, files are only read again if their digest is unknown.
+   *
+   * @param directory
+   *          the root folder the bundle files are relative to
+   * @param propertiesFamily
+   *          the bundle
+   * @return hexadecimal digest
+   */
+  public String computeKey(File directory, PropertiesFamily propertiesFamily) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+      digest.update(configurationFingerprint.getBytes(ENCODING));
+
+      // Files order is not guaranteed by the family
+      List<PropertiesFile> propertiesFiles = new ArrayList<PropertiesFile>(propertiesFamily.getPropertiesFiles());
+      Collections.sort(propertiesFiles, new Comparator<PropertiesFile>() {
+        public int compare(PropertiesFile o1, PropertiesFile o2) {
+          return o1.getFileName().compareTo(o2.getFileName());
+        }
+      });
+
+      for (PropertiesFile propertiesFile : propertiesFiles) {
+        digest.update(propertiesFile.getFileName().getBytes(ENCODING));
+
+        byte[] contentDigest = propertiesFile.getContentDigest();
+        if (contentDigest == null) {
+          contentDigest = digestFile(new File(directory, propertiesFile.getFileName()));
+        }
+        digest.update(contentDigest);
+      }
+    } catch (NoSuchAlgorithmException e) {
+      throw new L10nValidationException("An unexpected exception has occured while computing cache key.", e);
+    } catch (IOException e) {
+      throw new L10nValidationException("An unexpected exception has occured while computing cache key.", e);
+    }
+    return toHex(digest.digest());
+  }
+
+  private byte[] digestFile(File file) throws IOException, NoSuchAlgorithmException {
+    MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+    byte[] buffer = new byte[BUFFER_SIZE];
+    InputStream in = new FileInputStream(file);
+    try {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    } finally {
+      in.close();
+    }
+    return digest.digest();
+  }
+
+  /**
+   * Replay the results of a previous validation of the bundle, if still valid.
+   *
+   * @param propertiesFamily
+   *          the bundle
+   * @param key
+   *          the current key of the bundle
+   * @param reportItems
+   *          list to update with cached items
+   * @return number of validation errors, or null if there is no valid cache entry
+   */
+  public Integer replay(PropertiesFamily propertiesFamily, String key, List<L10nReportItem> reportItems) {
+    File cacheFile = getCacheFile(propertiesFamily);
+    if (!cacheFile.exists()) {
+      return null;
+    }
+
+    Integer nbErrors = null;
+    // Lengths read from the file are checked against its size, so that corruption can't trigger huge allocations
+    long fileLength = cacheFile.length();
+    try {
+      DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)));
+      try {
+        if (in.readInt() == FORMAT_VERSION && key.equals(readString(in, fileLength))) {
+          int errors = in.readInt();
+          int nbItems = checkLength(in.readInt(), fileLength / MIN_ITEM_SIZE);
+          List<L10nReportItem> cachedItems = new ArrayList<L10nReportItem>(nbItems);
+          for (int i = 0; i < nbItems; i++) {
+            cachedItems.add(readItem(in, fileLength));
+          }
+          reportItems.addAll(cachedItems);
+          nbErrors = errors;
+        }
+      } finally {
+        in.close();
+      }
+    } catch (IOException e) {
+      // Corrupted cache is not an issue, bundle will be validated again
+      logger.getLogger().debug("Could not read cache file " + cacheFile.getPath() + ": " + e.getMessage());
+    } catch (IllegalArgumentException e) {
+      // Unknown item type
+      logger.getLogger().debug("Could not read cache file " + cacheFile.getPath() + ": " + e.getMessage());
+    }
+    return nbErrors;
+  }
+
+  private L10nReportItem readItem(DataInputStream in, long fileLength) throws IOException {
+    Type type = Type.valueOf(readString(in, fileLength));
+    String itemMessage = readString(in, fileLength);
+    String propertiesName = readString(in, fileLength);
+    String propertiesKey = readString(in, fileLength);
+    String propertiesValue = readString(in, fileLength);
+    String formattedPropertiesValue = readString(in, fileLength);
+    int lineNumber = in.readInt();
+    int columnNumber = in.readInt();
+
+    int nbSpellCheckErrors = in.readInt();
+    if (nbSpellCheckErrors == NO_SPELLCHECK_ERRORS) {
+      return new L10nReportItem(type, itemMessage, propertiesName, propertiesKey, propertiesValue,
+          formattedPropertiesValue, lineNumber, columnNumber);
+    }
+
+    checkLength(nbSpellCheckErrors, fileLength / MIN_ERROR_SIZE);
+    Locale locale = PropertiesFileUtils.getLocale(readString(in, fileLength));
+    // Suggestions are still computed on demand, by the SpellChecker of the locale
+    CachingSpellChecker spellChecker = null;
+    if (spellCheckerRepository != null && locale != null) {
+      spellChecker = spellCheckerRepository.getSpellChecker(locale);
+    }
+    List<SpellCheckError> errors = new ArrayList<SpellCheckError>(nbSpellCheckErrors);
+    for (int i = 0; i < nbSpellCheckErrors; i++) {
+      errors.add(new SpellCheckError(readString(in, fileLength), in.readInt(), spellChecker));
+    }
+    return new SpellCheckReportItem(itemMessage, propertiesName, propertiesKey, propertiesValue, lineNumber,
+        columnNumber, locale, errors);
+  }
+
+  /**
+   * Store the results of the validation of the bundle.
+   *
+   * @param propertiesFamily
+   *          the bundle
+   * @param key
+   *          the current key of the bundle
+   * @param nbErrors
+   *          number of validation errors
+   * @param reportItems
+   *          items reported for the bundle only
+   */
+  public void store(PropertiesFamily propertiesFamily, String key, int nbErrors, List<L10nReportItem> reportItems) {
+    File cacheFile = getCacheFile(propertiesFamily);
+    cacheDir.mkdirs();
+
+    // Write to a temporary file first, so that a partially written entry is never visible
+    File tmpFile = null;
+    try {
+      tmpFile = File.createTempFile(cacheFile.getName(), ".tmp", cacheDir);
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)));
+      try {
+        out.writeInt(FORMAT_VERSION);
+        writeString(out, key);
+        out.writeInt(nbErrors);
+        out.writeInt(reportItems.size());
+        for (L10nReportItem reportItem : reportItems) {
+          writeString(out, reportItem.getItemType().name());
+          writeString(out, reportItem.getItemMessage());
+          writeString(out, reportItem.getPropertiesName());
+          writeString(out, reportItem.getPropertiesKey());
+          writeString(out, reportItem.getPropertiesValue());
+          writeString(out, reportItem.getFormattedPropertiesValue());
+          out.writeInt(reportItem.getLineNumber());
+          out.writeInt(reportItem.getColumnNumber());
+          writeSpellCheckErrors(out, reportItem);
+        }
+      } finally {
+        out.close();
+      }
+      // Rename does not replace an existing file on all platforms
+      if (!tmpFile.renameTo(cacheFile) && !(cacheFile.delete() && tmpFile.renameTo(cacheFile))) {
+        throw new IOException("Could not rename " + tmpFile.getPath());
+      }
+    } catch (IOException e) {
+      // Not blocking, bundle will be validated again next time
+      logger.getLogger().warn("Could not write cache file " + cacheFile.getPath() + ": " + e.getMessage());
+      if (tmpFile != null) {
+        tmpFile.delete();
+      }
+    }
+  }
+
+  /**
+   * Errors are stored rather than suggestions, which are only computed if displayed.
+   */
+  private void writeSpellCheckErrors(DataOutputStream out, L10nReportItem reportItem) throws IOException {
+    if (reportItem instanceof SpellCheckReportItem) {
+      SpellCheckReportItem spellCheckItem = (SpellCheckReportItem) reportItem;
+      out.writeInt(spellCheckItem.getErrors().size());
+      writeString(out, (spellCheckItem.getLocale() != null) ? spellCheckItem.getLocale().toString() : null);
+      for (SpellCheckError error : spellCheckItem.getErrors()) {
+        writeString(out, error.getError());
+        out.writeInt(error.getPosition());
+      }
+    } else {
+      out.writeInt(NO_SPELLCHECK_ERRORS);
+    }
+  }
+
+  /**
+   * Used to compute the suggestions of replayed spellcheck items. If not set, these items have no suggestion.
+   */
+  public void setSpellCheckerRepository(LocaleSpellCheckerRepository spellCheckerRepository) {
+    this.spellCheckerRepository = spellCheckerRepository;
+  }
+
+  /**
+   * The file name is a digest of the bundle name, i.e. the path of the bundle followed by its base name, as sanitizing it
+   * could map distinct bundles to the same file.
+   * <p>
+   * The base name of the family can't be used, as it is cut at the first _ of the path.
+   */
+  File getCacheFile(PropertiesFamily propertiesFamily) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+      // All the files of a family share the same bundle name
+      String bundleName = propertiesFamily.getPropertiesFiles().iterator().next().getBundleName();
+      String fileName = toHex(digest.digest(bundleName.getBytes(ENCODING)));
+      return new File(cacheDir, fileName + CACHE_FILE_EXTENSION);
+    } catch (NoSuchAlgorithmException e) {
+      throw new L10nValidationException("An unexpected exception has occured while computing cache file name.", e);
+    } catch (IOException e) {
+      throw new L10nValidationException("An unexpected exception has occured while computing cache file name.", e);
+    }
+  }
+
+  /**
+   * Strings are written as length + UTF-8 bytes, as {@link DataOutputStream#writeUTF(String)} is limited to 64KB.
+   */
+  private void writeString(DataOutputStream out, String s) throws IOException {
+    if (s == null) {
+      out.writeInt(-1);
+    } else {
+      byte[] bytes = s.getBytes(ENCODING);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+  /**
+   * @param maxLength
+   *          upper bound of the length, i.e. the size of the file
+   */
+  private String readString(DataInputStream in, long maxLength) throws IOException {
+    String s = null;
+    int length = in.readInt();
+    if (length != -1) {
+      checkLength(length, maxLength);
+      byte[] bytes = new byte[length];
+      in.readFully(bytes);
+      s = new String(bytes, ENCODING);
+    }
+    return s;
+  }
+
+  private int checkLength(int length, long maxLength) throws IOException {
+    if (length < 0 || length > maxLength) {
+      throw new IOException("Invalid length " + length);
+    }
+    return length;
+  }
+
+  private String toHex(byte[] bytes) {
+    StringBuilder sb = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return sb.toString();
+  }
+}
@@ -9,32 +9,29 @@
  ******************************************************************************/
 package com.googlecode.l10nmavenplugin.validators.property;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.StringReader;
 import java.net.URL;
-import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Pattern;
 
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
-import javax.xml.transform.Source;
-import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
-import javax.xml.validation.Validator;
+import javax.xml.validation.ValidatorHandler;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.xerces.impl.Constants;
 import org.apache.xerces.jaxp.validation.XMLSchemaFactory;
+import org.xml.sax.ContentHandler;
 import org.xml.sax.ErrorHandler;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
 import org.xml.sax.helpers.DefaultHandler;
 
 import com.googlecode.l10nmavenplugin.format.Formatter;
@@ -45,6 +42,7 @@ import com.googlecode.l10nmavenplugin.model.L10nReportItem.Severity;
 import com.googlecode.l10nmavenplugin.model.L10nReportItem.Type;
 import com.googlecode.l10nmavenplugin.model.Property;
 import com.googlecode.l10nmavenplugin.model.PropertyImpl;
+import com.googlecode.l10nmavenplugin.validators.L10nValidationException;
 import com.googlecode.l10nmavenplugin.validators.L10nValidator;
 import com.googlecode.l10nmavenplugin.validators.PropertiesKeyConventionValidator;
 
@@ -69,6 +67,8 @@ public class HtmlValidator extends PropertiesKeyConventionValidator implements L
    * Template for inserting text resource content before XHTML validation. Need to declare HTML entities that are non
    * default XML ones. Also the text has to be
    * inside a div, as plain text is not allowed directly in body.
+   * 
+   * @see XhtmlFragmentReader for the streaming equivalent used by this validator
    */
   public static final String XHTML_TEMPLATE = "<!DOCTYPE html [ " + "<!ENTITY nbsp \"&#160;\"> "
       + "<!ENTITY copy \"&#169;\"> " + "<!ENTITY cent \"&#162;\"> "
@@ -95,22 +95,49 @@ public class HtmlValidator extends PropertiesKeyConventionValidator implements L
    *      href="http://dev.w3.org/html5/spec/global-attributes.html#embedding-custom-non-visible-data-with-the-data-attributes">W3C
    *      HTML5</a>
    */
-  private static final String DATA_ATTRIBUTE_REGEX = "data-[-a-z0-9_:\\.]+=(\"[^\"]*\"|'[^\']*')";
+  private static final String DATA_ATTRIBUTE_PREFIX = "data-";
+
+  private static final String DATA_ATTRIBUTE_REGEX = DATA_ATTRIBUTE_PREFIX + "[-a-z0-9_:\\.]+=(\"[^\"]*\"|'[^\']*')";
 
   protected static final Pattern DATA_ATTRIBUTE_PATTERN = Pattern.compile(DATA_ATTRIBUTE_REGEX);
 
-  private static final String MULTIPLE_LIS_AT_ROOT_REGEXP = "^(<li>.*</li>\\s*)+$";
+  private static final String LI_START_TAG = "<li>";
+
+  private static final String MULTIPLE_LIS_AT_ROOT_REGEXP = "^(" + LI_START_TAG + ".*</li>\\s*)+$";
 
   protected static final Pattern MULTIPLE_LIS_AT_ROOT_PATTERN = Pattern.compile(MULTIPLE_LIS_AT_ROOT_REGEXP);
 
   /**
-   * The validator for HTML resources
+   * The compiled schema for HTML resources, thread safe and shared by all threads
    */
-  private Validator xhtmlValidator;
+  private Schema schema;
 
   private L10nValidator<Property> spellCheckValidator;
 
-  private SAXParser parser;
+  private final SAXParserFactory saxParserFactory;
+
+  /**
+   * The parsing and validation pipeline, one per thread as JAXP {@link XMLReader} and {@link ValidatorHandler} are not
+   * thread safe
+   */
+  private final ThreadLocal<XhtmlPipeline> pipelines = new ThreadLocal<XhtmlPipeline>() {
+    @Override
+    protected XhtmlPipeline initialValue() {
+      try {
+        XMLReader xmlReader;
+        // JAXP factories are not guaranteed to be thread safe
+        synchronized (saxParserFactory) {
+          xmlReader = saxParserFactory.newSAXParser().getXMLReader();
+        }
+        return new XhtmlPipeline(xmlReader, schema.newValidatorHandler());
+
+      } catch (ParserConfigurationException e) {
+        throw new L10nValidationException("Could not initialize SAX parser", e);
+      } catch (SAXException e) {
+        throw new L10nValidationException("Could not initialize SAX parser", e);
+      }
+    }
+  };
 
   private final Formatter formattingParametersExtractor;
 
@@ -141,13 +168,16 @@ public class HtmlValidator extends PropertiesKeyConventionValidator implements L
     this.formattingParametersExtractor = formattingParametersExtractor;
     this.innerResourceFormatter = innerResourceFormatter;
 
+    // Schema validation requires namespaces
+    saxParserFactory = SAXParserFactory.newInstance();
+    saxParserFactory.setNamespaceAware(true);
+
     try {
       // SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
       // Need to use XERCES so that XHTML5 schema passes validation
       SchemaFactory factory = new XMLSchemaFactory();
       factory.setFeature(Constants.XERCES_FEATURE_PREFIX + Constants.SCHEMA_FULL_CHECKING, false);
 
-      Schema schema = null;
       if (xhtmlSchema.exists()) {
         // Load custom schema
         schema = factory.newSchema(xhtmlSchema);
@@ -166,19 +196,9 @@ public class HtmlValidator extends PropertiesKeyConventionValidator implements L
         }
         schema = factory.newSchema(schemaURL);
       }
-      xhtmlValidator = schema.newValidator();
-
-      // Initialize SAX parser
-      SAXParserFactory saxParserFactory = SAXParserFactory.newInstance();
-      parser = saxParserFactory.newSAXParser();
-
     }
     catch (SAXException e) {
       logger.getLogger().error("Could not initialize HtmlValidator", e);
-
-    }
-    catch (ParserConfigurationException e) {
-      logger.getLogger().error("Could not initialize HtmlValidator", e);
     }
   }
 
@@ -188,9 +208,13 @@ public class HtmlValidator extends PropertiesKeyConventionValidator implements L
    * <ul>
    * <li>Performs a MessageFormat if resource is parametric.</li>
    * <li>Removes HTML5 data-* attributes, as this is a limitation to express these using W3C XML schema.</li>
-   * <li>Then wraps the resource into an XHTML document body and validate with JAXP.</li>
+   * <li>Then streams the resource wrapped into an XHTML document body and validate with JAXP.</li>
    * </ul>
    * 
+   * The resource is parsed once, the schema validator forwarding text nodes to the spellcheck.
+   * 
+   * The JAXP {@link XMLReader} and {@link ValidatorHandler} not being thread safe, each thread uses its own instances.
+   * 
    * @param key
    * @param message
    * @param propertyName
@@ -198,44 +222,37 @@ public class HtmlValidator extends PropertiesKeyConventionValidator implements L
    */
   public int validate(Property property, List<L10nReportItem> reportItems) {
     int nbErrors = 0;
-    if (xhtmlValidator != null) {
+    if (schema != null) {
       String formattedMessage = property.getMessage();
       ReportingErrorHandler handler = new ReportingErrorHandler(property, formattedMessage, reportItems, logger);
       try {
-        formattedMessage = applyWorkArroundForMultipleLIsIfNecessary(formattedMessage);
-
+        // Raw message is analyzed, so that the analysis is shared with the other validators
         if (formattingParametersExtractor.isParametric(formattedMessage)) {
           formattedMessage = formattingParametersExtractor.defaultFormat(formattedMessage);
         }
         else { // In any case replace '' by ' (resource without parameters but called with fmt:param)
-          formattedMessage = formattedMessage.replaceAll("''", "'");
+          formattedMessage = StringUtils.replace(formattedMessage, "''", "'");
         }
         if (innerResourceFormatter != null && innerResourceFormatter.hasInnerResources(formattedMessage)) {
           formattedMessage = innerResourceFormatter.defaultFormat(formattedMessage);
         }
+        formattedMessage = applyWorkArroundForMultipleLIsIfNecessary(formattedMessage);
 
         // HACK Remove custom data-* attributes, as thay can't easily be validated by a schema.
-        formattedMessage = formattedMessage.replaceAll(DATA_ATTRIBUTE_REGEX, "");
-        String xhtml = MessageFormat.format(XHTML_TEMPLATE, formattedMessage);
-        Source source = new StreamSource(new ByteArrayInputStream(xhtml.getBytes("UTF-8")));
-
-        xhtmlValidator.setErrorHandler(handler);
-        xhtmlValidator.validate(source);
+        if (formattedMessage.indexOf(DATA_ATTRIBUTE_PREFIX) >= 0) {
+          formattedMessage = DATA_ATTRIBUTE_PATTERN.matcher(formattedMessage).replaceAll("");
+        }
+        // Single pass: the validator tees text nodes to the spellcheck handler
+        SpellCheckValidationHandler spellCheckHandler = null;
+        if (spellCheckValidator != null) {
+          spellCheckHandler = new SpellCheckValidationHandler(property);
+        }
+        XhtmlPipeline pipeline = pipelines.get();
+        pipeline.parse(formattedMessage, handler, spellCheckHandler);
 
         // If XHTML validation was successful, validate spellcheck
-        if (spellCheckValidator != null) {
-          SpellCheckValidationHandler saxHandler = new SpellCheckValidationHandler(property, reportItems);
-          try {
-            parser.parse(new InputSource(new StringReader(xhtml)), saxHandler);
-            nbErrors += saxHandler.getNbErrors();
-
-          }
-          catch (SAXException e) {
-            logger.getLogger().error("SAXException while parsing [" + formattedMessage + "]", e);
-          }
-          catch (IOException e) {
-            logger.getLogger().error(e);
-          }
+        if (spellCheckHandler != null) {
+          nbErrors += spellCheckHandler.validate(reportItems);
         }
 
       }
@@ -261,7 +278,7 @@ public class HtmlValidator extends PropertiesKeyConventionValidator implements L
   private String applyWorkArroundForMultipleLIsIfNecessary(String formattedMessage) {
     String result = formattedMessage;
     String trimmed = StringUtils.trim(formattedMessage);
-    if (MULTIPLE_LIS_AT_ROOT_PATTERN.matcher(trimmed).matches()) {
+    if (trimmed.startsWith(LI_START_TAG) && MULTIPLE_LIS_AT_ROOT_PATTERN.matcher(trimmed).matches()) {
       result = "<ul>" + formattedMessage + "</ul>";
     }
     return result;
@@ -272,31 +289,71 @@ public class HtmlValidator extends PropertiesKeyConventionValidator implements L
   }
 
   /**
-   * SAX parser to extract text inside XHTML elements.
+   * SAX parser, schema validator and fragment reader used together to validate a resource in a single pass.
    * 
    */
+  private static class XhtmlPipeline {
+
+    private final XMLReader xmlReader;
+
+    private final ValidatorHandler validatorHandler;
+
+    private final XhtmlFragmentReader fragmentReader = new XhtmlFragmentReader();
+
+    public XhtmlPipeline(XMLReader xmlReader, ValidatorHandler validatorHandler) {
+      this.xmlReader = xmlReader;
+      this.validatorHandler = validatorHandler;
+      xmlReader.setContentHandler(validatorHandler);
+    }
+
+    /**
+     * Parse and validate the fragment, forwarding validated events to contentHandler if not null.
+     */
+    public void parse(String fragment, ErrorHandler errorHandler, ContentHandler contentHandler) throws SAXException,
+        IOException {
+      // Well-formedness errors are reported by the parser, validity ones by the validator
+      xmlReader.setErrorHandler(errorHandler);
+      validatorHandler.setErrorHandler(errorHandler);
+      validatorHandler.setContentHandler(contentHandler);
+      try {
+        xmlReader.parse(new InputSource(fragmentReader.reset(fragment)));
+      } finally {
+        // Do not retain reporting state between properties
+        xmlReader.setErrorHandler(null);
+        validatorHandler.setErrorHandler(null);
+        validatorHandler.setContentHandler(null);
+      }
+    }
+  }
+
+  /**
+   * SAX handler to extract text inside XHTML elements.
+   * 
+   * Text is only spellchecked once the whole resource has been parsed, so that nothing is reported in case of fatal
+   * error.
+   */
   private class SpellCheckValidationHandler extends DefaultHandler {
 
     private final Property property;
 
-    private final List<L10nReportItem> reportItems;
-
-    private int nbErrors = 0;
+    private final List<String> texts = new ArrayList<String>();
 
-    public SpellCheckValidationHandler(Property property, List<L10nReportItem> reportItems) {
+    public SpellCheckValidationHandler(Property property) {
       this.property = property;
-      this.reportItems = reportItems;
     }
 
     @Override
     public void characters(char[] ch, int start, int length) throws SAXException {
-      String text = new String(ch, start, length);
-      Property htmlTextProperty = new PropertyImpl(property.getKey(), text, property.getPropertiesFile());
-      // Delegate to spellCheck validator
-      nbErrors += spellCheckValidator.validate(htmlTextProperty, reportItems);
+      texts.add(new String(ch, start, length));
     }
 
-    public int getNbErrors() {
+    public int validate(List<L10nReportItem> reportItems) {
+      int nbErrors = 0;
+      for (String text : texts) {
+        Property htmlTextProperty = new PropertyImpl(property.getKey(), text, property.getPropertiesFile());
+        // Delegate to spellCheck validator
+        nbErrors += spellCheckValidator.validate(htmlTextProperty, reportItems);
+      }
       return nbErrors;
     }
   }
@@ -84,12 +84,21 @@ public class PlainTextValidator extends PropertiesKeyConventionValidator impleme
     return matches(property.getKey());
   }
 
+  /**
+   * The regex is only applied to messages containing a tag start, i.e. rarely for plain text resources.
+   */
   public static boolean isHtml(String message) {
+    if (message.indexOf('<') < 0) {
+      return false;
+    }
     Matcher htmlMatcher = HTML_PATTERN.matcher(message);
     return htmlMatcher.matches();
   }
 
   public static boolean isUrl(String message) {
+    if (message.indexOf("//") < 0 && message.indexOf("mailto") < 0) {
+      return false;
+    }
     Matcher urlMatcher = URL_PATTERN.matcher(message);
     return urlMatcher.matches();
   }
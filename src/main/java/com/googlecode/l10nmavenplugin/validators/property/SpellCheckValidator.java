@@ -12,31 +12,33 @@ package com.googlecode.l10nmavenplugin.validators.property;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.filefilter.SuffixFileFilter;
-import org.apache.commons.lang.StringUtils;
 
 import com.googlecode.l10nmavenplugin.log.L10nValidatorLogger;
 import com.googlecode.l10nmavenplugin.model.L10nReportItem;
 import com.googlecode.l10nmavenplugin.model.L10nReportItem.Type;
 import com.googlecode.l10nmavenplugin.model.PropertiesFileUtils;
 import com.googlecode.l10nmavenplugin.model.Property;
+import com.googlecode.l10nmavenplugin.model.spellcheck.BinaryDictionaryWriter;
+import com.googlecode.l10nmavenplugin.model.spellcheck.CachingSpellChecker;
 import com.googlecode.l10nmavenplugin.model.spellcheck.LocaleSpellCheckerRepository;
 import com.googlecode.l10nmavenplugin.model.spellcheck.LocaleTreeSpellCheckerRepository;
+import com.googlecode.l10nmavenplugin.model.spellcheck.MappedSpellDictionary;
 import com.googlecode.l10nmavenplugin.model.spellcheck.SpellCheckError;
+import com.googlecode.l10nmavenplugin.model.spellcheck.SpellCheckReportItem;
 import com.googlecode.l10nmavenplugin.validators.AbstractL10nValidator;
 import com.googlecode.l10nmavenplugin.validators.L10nValidator;
 import com.swabunga.spell.engine.SpellDictionary;
 import com.swabunga.spell.engine.SpellDictionaryHashMap;
-import com.swabunga.spell.event.SpellCheckEvent;
-import com.swabunga.spell.event.SpellCheckListener;
 import com.swabunga.spell.event.SpellChecker;
-import com.swabunga.spell.event.StringWordTokenizer;
 
 /**
  * Validator to check for spelling mistakes based on a dictionary of words.
@@ -56,43 +58,61 @@ public class SpellCheckValidator extends AbstractL10nValidator implements L10nVa
   private final LocaleSpellCheckerRepository spellCheckerLocaleRepository;
 
   /**
-   * Initialize by loading dictionaries following {@link Locale} naming convention
+   * Whether to compute a suggested correction of messages
+   */
+  private boolean suggestions = true;
+
+  /**
+   * Initialize by registering dictionaries following {@link Locale} naming convention, binary dictionaries being looked
+   * up in the same directory.
    * 
    * @param logger
    * @param directory
    *          dictionaries location
    */
   public SpellCheckValidator(L10nValidatorLogger logger, File directory) {
+    this(logger, directory, directory);
+  }
+
+  /**
+   * Initialize by registering dictionaries following {@link Locale} naming convention. Dictionaries are only loaded when
+   * a property of a matching locale is validated.
+   * 
+   * @param logger
+   * @param directory
+   *          dictionaries location
+   * @param binaryDirectory
+   *          location of binary dictionaries compiled from the dictionaries, may be null
+   * @since 1.9
+   */
+  public SpellCheckValidator(L10nValidatorLogger logger, File directory, File binaryDirectory) {
     super(logger);
     spellCheckerLocaleRepository = new LocaleTreeSpellCheckerRepository(logger);
 
     if (directory != null) {
       logger.getLogger().info("Looking for .dic files in: " + directory.getAbsolutePath());
-      File[] files = directory.listFiles((FilenameFilter) new SuffixFileFilter(".dic"));
-      if (files == null || files.length == 0) {
+      if (binaryDirectory != null) {
+        logger.getLogger().info("Looking for .bdic files in: " + binaryDirectory.getAbsolutePath());
+      }
+      Collection<File> files = getDictionaryFiles(directory, binaryDirectory);
+      if (files.isEmpty()) {
         logger.getLogger().warn("No dictionary file under folder " + directory.getAbsolutePath() + ". Skipping spellcheck validation.");
 
       } else {
-        // Load each dictionary, using file name to detect associated locale
+        // Register each dictionary, using file name to detect associated locale
         for (File file : files) {
-          try {
-            String fileName = FilenameUtils.getBaseName(file.getName());
-            String localePart = null;
-            String[] parts = fileName.split("_", 2);
-            if (parts[0].length() == 2) {
-              localePart = fileName;
-            } else if (parts.length == 2) {
-              localePart = parts[1];
-            }
-            Locale locale = PropertiesFileUtils.getLocale(localePart);
-            logger.getLogger().info("Loading file <" + file.getName() + "> associated to locale <" + locale + ">");
-
-            SpellDictionary dictionary = new SpellDictionaryHashMap(file);
-            spellCheckerLocaleRepository.addDictionary(locale, dictionary);
-
-          } catch (IOException e) {
-            logger.getLogger().error(e);
+          String fileName = FilenameUtils.getBaseName(file.getName());
+          String localePart = null;
+          String[] parts = fileName.split("_", 2);
+          if (parts[0].length() == 2) {
+            localePart = fileName;
+          } else if (parts.length == 2) {
+            localePart = parts[1];
           }
+          Locale locale = PropertiesFileUtils.getLocale(localePart);
+          logger.getLogger().info("Found file <" + file.getName() + "> associated to locale <" + locale + ">");
+
+          spellCheckerLocaleRepository.addDictionary(locale, new DictionaryFileLoader(file, logger));
         }
       }
     } else {
@@ -100,8 +120,41 @@ public class SpellCheckValidator extends AbstractL10nValidator implements L10nVa
     }
   }
 
+  /**
+   * List .dic files, replaced by the binary dictionary of the same name if up to date.
+   * 
+   * @return never null
+   */
+  private Collection<File> getDictionaryFiles(File directory, File binaryDirectory) {
+    Map<String, File> dictionaryFiles = new TreeMap<String, File>();
+    File[] files = directory.listFiles((FilenameFilter) new SuffixFileFilter(".dic"));
+    if (files != null) {
+      for (File file : files) {
+        dictionaryFiles.put(FilenameUtils.getBaseName(file.getName()), file);
+      }
+    }
+    files = null;
+    if (binaryDirectory != null) {
+      files = binaryDirectory.listFiles((FilenameFilter) new SuffixFileFilter("." + BinaryDictionaryWriter.EXTENSION));
+    }
+    if (files != null) {
+      for (File file : files) {
+        String baseName = FilenameUtils.getBaseName(file.getName());
+        File wordList = dictionaryFiles.get(baseName);
+        if (wordList == null || wordList.lastModified() <= file.lastModified()) {
+          dictionaryFiles.put(baseName, file);
+        } else {
+          logger.getLogger().warn("Ignoring file <" + file.getName() + "> older than <" + wordList.getName() + ">");
+        }
+      }
+    }
+    return dictionaryFiles.values();
+  }
+
   /**
    * WARN in case of spellcheck error using property locale.
+   * 
+   * Thread safe, as spellcheck errors are not collected via listeners registered on the shared SpellChecker.
    */
   public int validate(Property property, List<L10nReportItem> reportItems) {
     Locale locale = property.getLocale();
@@ -109,72 +162,89 @@ public class SpellCheckValidator extends AbstractL10nValidator implements L10nVa
       // Case of root bundle
       locale = Locale.ENGLISH;
     }
-    SpellChecker spellChecker = spellCheckerLocaleRepository.getSpellChecker(locale);
+    CachingSpellChecker spellChecker = spellCheckerLocaleRepository.getSpellChecker(locale);
 
     if (spellChecker != null) {
-      ListSpellCheckErrorListener listener = new ListSpellCheckErrorListener(spellChecker);
-      spellChecker.addSpellCheckListener(listener);
-
       String message = property.getMessage();
-      spellChecker.checkSpelling(new StringWordTokenizer(message));
-
-      Collection<SpellCheckError> errors = listener.getSpellCheckErrors();
-
-      // The message with errors replaced by suggestions
-      String correction = message;
-
-      // Start from last errors, so that error position remains valid
-      SpellCheckError[] errs = errors.toArray(new SpellCheckError[errors.size()]);
-      for (int i = errs.length - 1; i >= 0; i--) {
-        SpellCheckError error = errs[i];
-        if (error.getSuggestion() != null) {
-          int pos = error.getPosition();
-          correction = StringUtils.overlay(correction, error.getSuggestion(), pos, pos + error.getError().length());
-        }
-      }
+      List<SpellCheckError> errors = spellChecker.check(message);
 
       if (errors.size() > 0) {
         StringBuffer sb = new StringBuffer();
         sb.append("Spellcheck error on word(s): ").append(errors.toString()).append(" and locale <").append(locale).append(">.");
-        if (correction != null) {
-          sb.append(" Suggested correction: [").append(correction).append("]");
-        }
 
-        L10nReportItem reportItem = new L10nReportItem(Type.SPELLCHECK, sb.toString(), property, null);
+        L10nReportItem reportItem;
+        if (suggestions) {
+          String correction = SpellCheckReportItem.getCorrection(message, errors);
+          if (correction != null) {
+            sb.append(" Suggested correction: [").append(correction).append("]");
+          }
+          reportItem = new L10nReportItem(Type.SPELLCHECK, sb.toString(), property, null);
+        } else {
+          // Correction is left to the consumers of the item, if needed
+          reportItem = new SpellCheckReportItem(sb.toString(), property, locale, errors);
+        }
         reportItems.add(reportItem);
         logger.log(reportItem);
       }
-
-      spellChecker.removeSpellCheckListener(listener);
     }
     return 0;
   }
 
   /**
-   * Listen to keep track of all spellCheck errors
+   * The SpellCheckers used by the validator, by locale.
    * 
+   * @since 1.9
    */
-  private static class ListSpellCheckErrorListener implements SpellCheckListener {
-
-    private final Collection<SpellCheckError> spellCheckErrors = new ArrayList<SpellCheckError>();
-
-    private final SpellChecker spellChecker;
-
-    public ListSpellCheckErrorListener(SpellChecker spellChecker) {
-      this.spellChecker = spellChecker;
-    }
+  public LocaleSpellCheckerRepository getSpellCheckerRepository() {
+    return spellCheckerLocaleRepository;
+  }
 
-    public void spellingError(SpellCheckEvent event) {
-      spellCheckErrors.add(new SpellCheckError(event, spellChecker));
-    }
+  /**
+   * Whether to suggest a correction in the message of the items, for all spellcheck errors. Default is true.
+   * 
+   * Computing suggestions is much more expensive than detecting errors. If disabled, items are
+   * {@link SpellCheckReportItem}s computing their correction only on demand.
+   * 
+   * @since 1.9
+   */
+  public void setSuggestions(boolean suggestions) {
+    this.suggestions = suggestions;
+  }
 
-    public Collection<SpellCheckError> getSpellCheckErrors() {
-      return spellCheckErrors;
-    };
+  /**
+   * Log the hit rate of the words memoized per locale.
+   * 
+   * @since 1.9
+   */
+  public void logCacheStatistics() {
+    spellCheckerLocaleRepository.logCacheStatistics();
   }
 
   public boolean shouldValidate(Property property) {
     // Always validate
     return true;
   }
+
+  /**
+   * Loads a dictionary file, possibly from another thread.
+   */
+  private static class DictionaryFileLoader implements Callable<SpellDictionary> {
+
+    private final File file;
+
+    private final L10nValidatorLogger logger;
+
+    public DictionaryFileLoader(File file, L10nValidatorLogger logger) {
+      this.file = file;
+      this.logger = logger;
+    }
+
+    public SpellDictionary call() throws IOException {
+      logger.getLogger().info("Loading file <" + file.getName() + ">");
+      if (BinaryDictionaryWriter.EXTENSION.equals(FilenameUtils.getExtension(file.getName()))) {
+        return new MappedSpellDictionary(file);
+      }
+      return new SpellDictionaryHashMap(file);
+    }
+  }
 }
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.validators.property;
+
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reusable {@link Reader} streaming an XHTML fragment inside a constant html/head/body envelope, without building the
+ * whole document in memory.
+ * <p>
+ * Instead of declaring non default XML entities in a DOCTYPE, that the parser would have to process for each document,
+ * known HTML entities are replaced on the fly by their numeric character reference.
+ * <p>
+ * Not thread safe, meant to be confined to a thread and reset for each fragment.
+ *
+ * @since 1.9
+ */
+public class XhtmlFragmentReader extends Reader {
+
+  /**
+   * Text has to be inside a div, as plain text is not allowed directly in body.
+   */
+  private static final String PREFIX = "<html xmlns=\"http://www.w3.org/1999/xhtml\"><head><title /></head><body><div>";
+
+  private static final String SUFFIX = "</div></body></html>";
+
+  /**
+   * HTML entities that are not default XML ones, with their numeric character reference.
+   */
+  private static final Map<String, String> HTML_ENTITIES = new HashMap<String, String>();
+
+  private static final int MAX_ENTITY_LENGTH;
+
+  static {
+    HTML_ENTITIES.put("nbsp", "&#160;");
+    HTML_ENTITIES.put("copy", "&#169;");
+    HTML_ENTITIES.put("cent", "&#162;");
+    HTML_ENTITIES.put("pound", "&#163;");
+    HTML_ENTITIES.put("yen", "&#165;");
+    HTML_ENTITIES.put("euro", "&#8364;");
+    HTML_ENTITIES.put("sect", "&#167;");
+    HTML_ENTITIES.put("reg", "&#174;");
+    HTML_ENTITIES.put("trade", "&#8482;");
+    HTML_ENTITIES.put("ndash", "&#8211;");
+
+    int maxLength = 0;
+    for (String entity : HTML_ENTITIES.keySet()) {
+      maxLength = Math.max(maxLength, entity.length());
+    }
+    MAX_ENTITY_LENGTH = maxLength;
+  }
+
+  private String fragment = "";
+
+  /**
+   * Position in the whole document (prefix + fragment + suffix), ignoring entity replacements
+   */
+  private int position;
+
+  /**
+   * Entity replacement being streamed, if any
+   */
+  private String replacement;
+
+  private int replacementPosition;
+
+  /**
+   * Prepare the reader for a new fragment.
+   *
+   * @param fragment
+   *          the XHTML fragment
+   * @return this reader
+   */
+  public XhtmlFragmentReader reset(String fragment) {
+    this.fragment = fragment;
+    this.position = 0;
+    this.replacement = null;
+    return this;
+  }
+
+  @Override
+  public int read(char[] cbuf, int off, int len) {
+    int nbRead = 0;
+    while (nbRead < len) {
+      int c = nextChar();
+      if (c == -1) {
+        break;
+      }
+      cbuf[off + nbRead++] = (char) c;
+    }
+    return (nbRead == 0 && len > 0) ? -1 : nbRead;
+  }
+
+  private int nextChar() {
+    int c;
+    if (replacement != null) {
+      c = replacement.charAt(replacementPosition++);
+      if (replacementPosition == replacement.length()) {
+        replacement = null;
+      }
+
+    } else if (position < PREFIX.length()) {
+      c = PREFIX.charAt(position++);
+
+    } else if (position < PREFIX.length() + fragment.length()) {
+      int index = position - PREFIX.length();
+      c = fragment.charAt(index);
+      position++;
+
+      if (c == '&') {
+        String entity = lookupEntity(index + 1);
+        if (entity != null) {
+          // Skip the entity name and ';', the replacement already starting with '&'
+          position += entity.length() + 1;
+          replacement = HTML_ENTITIES.get(entity);
+          replacementPosition = 1;
+        }
+      }
+
+    } else if (position < PREFIX.length() + fragment.length() + SUFFIX.length()) {
+      c = SUFFIX.charAt(position - PREFIX.length() - fragment.length());
+      position++;
+
+    } else {
+      c = -1;
+    }
+    return c;
+  }
+
+  /**
+   * @return the name of the known entity starting at index in the fragment, or null
+   */
+  private String lookupEntity(int index) {
+    String entity = null;
+    int end = Math.min(fragment.length(), index + MAX_ENTITY_LENGTH + 1);
+    for (int i = index; i < end; i++) {
+      if (fragment.charAt(i) == ';') {
+        String name = fragment.substring(index, i);
+        if (HTML_ENTITIES.containsKey(name)) {
+          entity = name;
+        }
+        break;
+      }
+    }
+    return entity;
+  }
+
+  @Override
+  public void close() {
+    // Nothing to release, the reader is reused
+  }
+}
@@ -18,4 +18,11 @@ public abstract class FormattingValidator extends AbstractL10nValidator implemen
     return formatter;
   }
 
+  /**
+   * Replace the formatter, i.e. by a {@link com.googlecode.l10nmavenplugin.format.MessageAnalysisCache} wrapping it
+   */
+  public void setFormatter(Formatter formatter) {
+    this.formatter = formatter;
+  }
+
 }
@@ -5,6 +5,7 @@ import java.util.List;
 import org.codehaus.plexus.util.StringUtils;
 
 import com.googlecode.l10nmavenplugin.format.InnerResourcesFormatter;
+import com.googlecode.l10nmavenplugin.format.MessageAnalysisCache;
 import com.googlecode.l10nmavenplugin.log.L10nValidatorLogger;
 import com.googlecode.l10nmavenplugin.model.L10nReportItem;
 import com.googlecode.l10nmavenplugin.model.L10nReportItem.Type;
@@ -17,6 +18,11 @@ public class InnerResourcesFormattingValidator extends AbstractL10nValidator imp
 
   private final InnerResourcesFormatter formatter;
 
+  /**
+   * Optional cache of message analysis, shared with other validators
+   */
+  private MessageAnalysisCache messageAnalysisCache;
+
   public InnerResourcesFormattingValidator(L10nValidatorLogger logger, String innerResourceRegex) {
     super(logger);
     if (StringUtils.isBlank(innerResourceRegex)) {
@@ -31,9 +37,14 @@ public class InnerResourcesFormattingValidator extends AbstractL10nValidator imp
     int nbErrors = 0;
 
     if (formatter != null) {
-      List<String> innerResourceKeys = formatter.captureInnerResources(property.getMessage());
+      List<String> innerResourceKeys;
+      if (messageAnalysisCache != null) {
+        innerResourceKeys = messageAnalysisCache.analyze(property.getMessage()).getInnerResources();
+      } else {
+        innerResourceKeys = formatter.captureInnerResources(property.getMessage());
+      }
       for (String innerResourceKey : innerResourceKeys) {
-        if (property.getPropertiesFile().getProperties().getProperty(innerResourceKey) == null) {
+        if (property.getPropertiesFile().getProperty(innerResourceKey) == null) {
           // inner resource points to a non existing property
           L10nReportItem reportItem = new L10nReportItem(Type.INNER_RESOURCE_DOES_NOT_EXIST,
               "Non-existing inner resource reference: " + innerResourceKey, property, null);
@@ -54,4 +65,8 @@ public class InnerResourcesFormattingValidator extends AbstractL10nValidator imp
     return formatter;
   }
 
+  public void setMessageAnalysisCache(MessageAnalysisCache messageAnalysisCache) {
+    this.messageAnalysisCache = messageAnalysisCache;
+  }
+
 }
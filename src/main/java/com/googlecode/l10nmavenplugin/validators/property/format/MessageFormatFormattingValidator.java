@@ -10,10 +10,9 @@
 package com.googlecode.l10nmavenplugin.validators.property.format;
 
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import com.googlecode.l10nmavenplugin.format.MessageFormatFormatter;
+import com.googlecode.l10nmavenplugin.format.MessageFormatScanner;
 import com.googlecode.l10nmavenplugin.log.L10nValidatorLogger;
 import com.googlecode.l10nmavenplugin.model.L10nReportItem;
 import com.googlecode.l10nmavenplugin.model.L10nReportItem.Type;
@@ -35,15 +34,6 @@ import com.googlecode.l10nmavenplugin.validators.L10nValidator;
  */
 public class MessageFormatFormattingValidator extends FormattingValidator implements L10nValidator<Property> {
 
-  /**
-   * Validation of single quotes escaping, consumed by MessageFormat. First unescaped quote is matched, with special case where it is at the end
-   * 
-   * "^([^']|'')*$" runs into StackOverflow for long messages.
-   */
-  private static final String UNESCAPED_QUOTE_REGEX = "(.*[^']'[^'].*|^'[^'].*|.*[^']'$)";
-
-  protected static final Pattern UNESCAPED_QUOTE_PATTERN = Pattern.compile(UNESCAPED_QUOTE_REGEX, Pattern.DOTALL);
-
   public MessageFormatFormattingValidator(L10nValidatorLogger logger) {
     super(logger);
 
@@ -61,8 +51,7 @@ public class MessageFormatFormattingValidator extends FormattingValidator implem
     // boolean isParametric = this.captureParameters(key, message, propertiesName);
     boolean isParametric = formatter.isParametric(property.getMessage());
     if (isParametric) {
-      Matcher unescapedQuotesMatcher = UNESCAPED_QUOTE_PATTERN.matcher(property.getMessage());
-      if (unescapedQuotesMatcher.matches()) {
+      if (MessageFormatScanner.hasUnescapedQuote(property.getMessage())) {
         nbErrors++;
         L10nReportItem reportItem = new L10nReportItem(Type.UNESCAPED_QUOTE_WITH_PARAMETERS, "MessageFormat requires that ' be escaped with ''.", property,
             null);
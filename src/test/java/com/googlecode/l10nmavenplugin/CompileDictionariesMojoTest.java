@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.googlecode.l10nmavenplugin.log.L10nValidatorLogger;
+import com.googlecode.l10nmavenplugin.model.BundlePropertiesFile;
+import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+import com.googlecode.l10nmavenplugin.model.PropertyImpl;
+import com.googlecode.l10nmavenplugin.validators.property.SpellCheckValidator;
+
+/**
+ * Unit tests for {@link CompileDictionariesMojo}
+ */
+public class CompileDictionariesMojoTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void binaryDictionariesShouldBeUsedForValidation() throws IOException, URISyntaxException,
+      MojoExecutionException {
+    File dictionaryDir = folder.newFolder("dictionaries");
+    File outputDir = new File(folder.getRoot(), "target/l10n-dictionaries");
+    File resources = new File(getClass().getClassLoader().getResource("common_en.dic").toURI());
+    FileUtils.copyFileToDirectory(resources, dictionaryDir);
+
+    CompileDictionariesMojo mojo = new CompileDictionariesMojo();
+    mojo.setDictionaryDir(dictionaryDir);
+    mojo.setOutputDir(outputDir);
+    mojo.execute();
+    assertTrue(new File(outputDir, "common_en.bdic").isFile());
+    // Sources are left untouched
+    assertEquals(1, dictionaryDir.list().length);
+
+    // Word list is no longer needed
+    assertTrue(new File(dictionaryDir, "common_en.dic").delete());
+    SpellCheckValidator validator = new SpellCheckValidator(new L10nValidatorLogger(), dictionaryDir, outputDir);
+    List<L10nReportItem> items = new ArrayList<L10nReportItem>();
+    BundlePropertiesFile file = new BundlePropertiesFile("junit_en.properties", null);
+    validator.validate(new PropertyImpl("key", "Some english text.", file), items);
+    assertEquals(0, items.size());
+    validator.validate(new PropertyImpl("key", "Some engish text.", file), items);
+    assertEquals(1, items.size());
+  }
+
+  @Test
+  public void missingDictionariesShouldBeIgnored() throws MojoExecutionException {
+    CompileDictionariesMojo mojo = new CompileDictionariesMojo();
+    mojo.setDictionaryDir(folder.getRoot());
+    mojo.setOutputDir(new File(folder.getRoot(), "target"));
+    mojo.execute();
+    assertEquals(0, folder.getRoot().list().length);
+  }
+}
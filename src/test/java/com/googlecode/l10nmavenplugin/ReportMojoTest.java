@@ -10,16 +10,21 @@
 package com.googlecode.l10nmavenplugin;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 
 import org.apache.maven.doxia.module.xhtml.decoration.render.RenderingContext;
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.doxia.siterenderer.RendererException;
 import org.apache.maven.doxia.siterenderer.sink.SiteRendererSink;
+import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugin.logging.SystemStreamLog;
 import org.apache.maven.reporting.MavenReportException;
 import org.junit.Before;
@@ -28,6 +33,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import com.googlecode.l10nmavenplugin.model.L10nReportItem;
 import com.googlecode.l10nmavenplugin.validators.property.HtmlValidator;
 
 public class ReportMojoTest {
@@ -78,6 +84,29 @@ public class ReportMojoTest {
     // assertTrue(reportFile.length() > 0);
   }
 
+  @Test
+  public void incrementalReportShouldReplayFromCacheDir() throws MojoExecutionException {
+    plugin.setPropertyDir(getFile("bundle"));
+    plugin.setIncremental(true);
+    plugin.setCacheDir(new File(tmpFolder.getRoot(), "cache"));
+    List<L10nReportItem> items = new ArrayList<L10nReportItem>();
+    ValidateMojo validateMojo = new ValidateMojo(plugin);
+    validateMojo.setLog(new SystemStreamLog());
+    validateMojo.initialize();
+    validateMojo.validate(plugin.getPropertyDir(), items);
+    assertTrue(plugin.getCacheDir().list().length > 0);
+
+    Log log = mock(Log.class);
+    List<L10nReportItem> replayedItems = new ArrayList<L10nReportItem>();
+    validateMojo = new ValidateMojo(plugin);
+    validateMojo.setLog(log);
+    validateMojo.initialize();
+    validateMojo.validate(plugin.getPropertyDir(), replayedItems);
+
+    verify(log).info(contains("unchanged since last validation"));
+    assertEquals(items, replayedItems);
+  }
+
   @Test
   public void testReport() {
     assertNotNull(plugin.getDescription(Locale.ENGLISH));
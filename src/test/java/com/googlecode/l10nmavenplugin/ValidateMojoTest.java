@@ -23,13 +23,17 @@ import java.util.List;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.invocation.Invocation;
 import org.mockito.runners.MockitoJUnitRunner;
 
-import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+import com.googlecode.l10nmavenplugin.report.CountingReportSink;
+import com.googlecode.l10nmavenplugin.report.JsonLinesReportSink;
+import com.googlecode.l10nmavenplugin.report.ReportSink;
 import com.googlecode.l10nmavenplugin.validators.AbstractL10nValidatorTest;
 
 /**
@@ -48,6 +52,9 @@ public class ValidateMojoTest extends AbstractL10nValidatorTest<File> {
   @Mock
   private L10nValidationConfiguration configuration;
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
   @Override
   @Before
   public void setUp() {
@@ -58,7 +65,7 @@ public class ValidateMojoTest extends AbstractL10nValidatorTest<File> {
 
     failingMojo = new ValidateMojo() {
       @Override
-      public int validate(File directory, List<L10nReportItem> reportItems) throws MojoExecutionException {
+      public int validate(File directory, ReportSink reportSink) throws MojoExecutionException {
         return 1;
       }
     };
@@ -89,6 +96,31 @@ public class ValidateMojoTest extends AbstractL10nValidatorTest<File> {
     verify(log, times(1)).info(any(CharSequence.class));
   }
 
+  @Test
+  public void jsonReportShouldBeOptIn() throws MojoExecutionException {
+    plugin.setReportsDir(folder.getRoot());
+
+    CountingReportSink reportSink = plugin.createReportSink();
+    reportSink.close();
+    assertFalse(reportSink instanceof JsonLinesReportSink);
+    assertFalse(new File(folder.getRoot(), ValidateMojo.JSON_LINES_REPORT).exists());
+
+    plugin.setJsonReport(true);
+    reportSink = plugin.createReportSink();
+    reportSink.close();
+    assertTrue(reportSink instanceof JsonLinesReportSink);
+    assertTrue(new File(folder.getRoot(), ValidateMojo.JSON_LINES_REPORT).exists());
+  }
+
+  @Test
+  public void pluginUpgradeShouldChangeFingerprint() {
+    plugin.setPluginVersion("1.9");
+    String fingerprint = plugin.getConfigurationFingerprint();
+
+    plugin.setPluginVersion("1.10");
+    assertFalse(fingerprint.equals(plugin.getConfigurationFingerprint()));
+  }
+
   @Test
   public void testSkipExecution() throws MojoExecutionException, MojoFailureException {
     failingMojo.setSkip(true);
@@ -3,7 +3,9 @@ package com.googlecode.l10nmavenplugin.format;
 import static org.junit.Assert.*;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.Properties;
 import java.util.Set;
@@ -41,6 +43,30 @@ public class InnerResourcesFormatterTest {
     public String getBundleName() {
       return null;
     }
+
+    public String getProperty(String key) {
+      return properties.getProperty(key);
+    }
+
+    public Collection<String> getKeys() {
+      Set<String> keys = new HashSet<String>();
+      for (Object key : properties.keySet()) {
+        keys.add((String) key);
+      }
+      return keys;
+    }
+
+    public int getLineNumber(String key) {
+      return 0;
+    }
+
+    public int getColumnNumber(String key) {
+      return 0;
+    }
+
+    public byte[] getContentDigest() {
+      return null;
+    }
   };
 
   @Test
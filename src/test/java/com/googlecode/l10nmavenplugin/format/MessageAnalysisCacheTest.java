@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.format;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class MessageAnalysisCacheTest {
+
+  private Formatter formatter;
+
+  private MessageAnalysisCache cache;
+
+  @Before
+  public void setUp() {
+    formatter = spy(new MessageFormatFormatter());
+    cache = new MessageAnalysisCache(formatter, new InnerResourcesFormatter("\\$\\{([A-Za-z0-9\\._]+)\\}"));
+  }
+
+  @Test
+  public void messagesShouldBeAnalyzedOnce() {
+    String message = "Some text: {1} {0}";
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue(cache.isParametric(message));
+      assertEquals(Arrays.asList(0, 1), cache.captureParameters(message));
+      assertEquals("Some text: 1 0", cache.defaultFormat(message));
+    }
+    assertEquals(1, cache.size());
+    verify(formatter, times(1)).isParametric(message);
+    verify(formatter, times(1)).captureParameters(message);
+    verify(formatter, times(1)).defaultFormat(message);
+  }
+
+  @Test
+  public void identicalMessagesShouldShareAnalysis() {
+    assertSame(cache.analyze(new String("text")), cache.analyze(new String("text")));
+    assertNotSame(cache.analyze("text"), cache.analyze("other text"));
+  }
+
+  @Test
+  public void leastRecentlyUsedMessagesShouldBeEvicted() {
+    cache = new MessageAnalysisCache(formatter, null, 2);
+    cache.isParametric("first");
+    cache.isParametric("second");
+    cache.isParametric("first");
+    cache.isParametric("third");
+    assertEquals(2, cache.size());
+
+    cache.isParametric("first");
+    cache.isParametric("second");
+    verify(formatter, times(1)).isParametric("first");
+    verify(formatter, times(2)).isParametric("second");
+  }
+
+  @Test
+  public void formattingErrorsShouldBeRethrown() {
+    IllegalArgumentException error = null;
+    try {
+      cache.defaultFormat("Malformed {0");
+      fail();
+    } catch (IllegalArgumentException e) {
+      error = e;
+    }
+    try {
+      cache.defaultFormat("Malformed {0");
+      fail();
+    } catch (IllegalArgumentException e) {
+      // Cached error, thrown as a new exception
+      assertNotSame(error, e);
+      assertEquals(error.getMessage(), e.getMessage());
+    }
+    verify(formatter, times(1)).defaultFormat("Malformed {0");
+  }
+
+  @Test
+  public void innerResourcesShouldBeCaptured() {
+    assertEquals(Arrays.asList("key.one", "key.two"), cache.analyze("${key.one} and ${key.two}").getInnerResources());
+    assertTrue(new MessageAnalysisCache(formatter, null).analyze("${key.one}").getInnerResources().isEmpty());
+  }
+}
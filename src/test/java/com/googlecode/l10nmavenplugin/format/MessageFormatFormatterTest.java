@@ -2,12 +2,14 @@ package com.googlecode.l10nmavenplugin.format;
 
 import static org.junit.Assert.*;
 
-import java.util.regex.Matcher;
+import java.text.MessageFormat;
 
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import com.googlecode.l10nmavenplugin.format.MessageFormatScanner.Token;
+
 public class MessageFormatFormatterTest {
 
   private Formatter formatter;
@@ -45,12 +47,49 @@ public class MessageFormatFormatterTest {
   }
 
   @Test
-  public void testParametricReplacePatternCapture() {
-    Matcher m = MessageFormatFormatter.DETECT_PARAMETERS_PATTERN.matcher("Some {0} parametrized text {1,date}");
-    assertTrue(m.matches());
-    // Only last is saved
-    assertEquals(1, m.groupCount());
-    assertEquals("1", m.group(1));
+  public void parametersAndLiteralsShouldBeScanned() {
+    MessageFormatScanner scanner = new MessageFormatScanner("Some {0} parametrized text {1,date}");
+    assertEquals(Token.LITERAL, scanner.next());
+    assertEquals("Some ", scanner.getText());
+    assertEquals(Token.PARAMETER, scanner.next());
+    assertEquals(0, scanner.getParameterIndex());
+    assertNull(scanner.getParameterType());
+    assertEquals(Token.LITERAL, scanner.next());
+    assertEquals(Token.PARAMETER, scanner.next());
+    assertEquals(1, scanner.getParameterIndex());
+    assertEquals("date", scanner.getParameterType());
+    assertNull(scanner.next());
+  }
+
+  @Test
+  public void parameterTypeStyleAndQuotingShouldBeScanned() {
+    MessageFormatScanner scanner = new MessageFormatScanner("l'{12,number,integer}' '{bla}' ''{3}''");
+    assertEquals(Token.LITERAL, scanner.next());
+    assertEquals(Token.UNESCAPED_QUOTE, scanner.next());
+    assertEquals(1, scanner.getStart());
+    assertEquals(Token.PARAMETER, scanner.next());
+    assertEquals(12, scanner.getParameterIndex());
+    assertEquals("number", scanner.getParameterType());
+    assertEquals("integer", scanner.getParameterStyle());
+    assertTrue(scanner.isQuoted());
+    assertEquals(Token.UNESCAPED_QUOTE, scanner.next());
+    assertEquals(Token.LITERAL, scanner.next());
+    assertEquals(" ", scanner.getText());
+    assertEquals(Token.UNESCAPED_QUOTE, scanner.next());
+    assertEquals(Token.LITERAL, scanner.next());
+    assertEquals("{bla}", scanner.getText());
+    assertEquals(Token.UNESCAPED_QUOTE, scanner.next());
+    assertEquals(Token.LITERAL, scanner.next());
+    assertEquals(" ''", scanner.getText());
+    assertEquals(Token.PARAMETER, scanner.next());
+    assertFalse(scanner.isQuoted());
+    assertEquals(Token.LITERAL, scanner.next());
+    assertNull(scanner.next());
+  }
+
+  @Test
+  public void invalidParametersShouldBeLiterals() {
+    assertFalse(formatter.isParametric("{0,date,MM/dd} {} {a} {0,} {0,a,b,c} {99999999999} {0"));
   }
 
   @Test
@@ -67,4 +106,26 @@ public class MessageFormatFormatterTest {
     // No exceptions
     formatter.defaultFormat("{0} {1,date} {2,number,integer} {3,number,$'#',##} {4,time} {5,choice,0#value1|1#value2}");
   }
+
+  @Test
+  public void defaultFormatShouldBeSameAsMessageFormat() {
+    String[] messages = new String[] { "Some text", "Some text: {0} {1} {0}", "Some {1,number} text", "{25} {018}",
+        "Some '' text {0}", "Some ' text {0}", "Some } text {0}", "Some text}{0}{" };
+    for (String message : messages) {
+      String expected;
+      try {
+        expected = MessageFormat.format(message, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18)
+            .replaceAll("''", "'");
+      } catch (IllegalArgumentException e) {
+        expected = "IllegalArgumentException";
+      }
+      String actual;
+      try {
+        actual = formatter.defaultFormat(message);
+      } catch (IllegalArgumentException e) {
+        actual = "IllegalArgumentException";
+      }
+      assertEquals(message, expected, actual);
+    }
+  }
 }
@@ -12,7 +12,10 @@ package com.googlecode.l10nmavenplugin.model;
 import static org.junit.Assert.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Properties;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -49,4 +52,36 @@ public class BundlePropertiesFamilyTest {
     assertEquals("bundle", propertiesFamily.getBaseName());
     assertNull(propertiesFamily.getRootPropertiesFile());
   }
+
+  @Test
+  public void propertyFamiliesShouldBeSlicesOfIndex() {
+    Properties root = new Properties();
+    root.put("key.common", "root");
+    root.put("key.root", "root");
+    Properties fr = new Properties();
+    fr.put("key.common", "fr");
+    fr.put("key.fr", "");
+    propertiesFiles.add(new BundlePropertiesFile("bundle.properties", root));
+    propertiesFiles.add(new BundlePropertiesFile("bundle_FR.properties", fr));
+
+    PropertiesFamily propertiesFamily = new BundlePropertiesFamily(propertiesFiles);
+
+    assertEquals(new HashSet<String>(Arrays.asList("key.common", "key.root", "key.fr")), propertiesFamily.getKeys());
+
+    PropertyFamily common = propertiesFamily.getPropertyFamily("key.common");
+    assertEquals(2, common.getExistingPropertyFiles().size());
+    assertEquals(2, common.getValues().size());
+    assertEquals(1, common.getPropertyFamilyExcludingRoot().getNbPropertiesFiles());
+    assertEquals(1, common.getPropertyFamilyExcludingRoot().getExistingPropertyFiles().size());
+    // Computed once
+    assertSame(common.getPropertyFamilyExcludingRoot(), common.getPropertyFamilyExcludingRoot());
+
+    PropertyFamily frOnly = propertiesFamily.getPropertyFamily("key.fr");
+    assertEquals(0, frOnly.getExistingPropertyFiles().size());
+    assertEquals(2, frOnly.getMissingPropertyFiles().size());
+
+    PropertyFamily undefined = propertiesFamily.getPropertyFamily("key.undefined");
+    assertEquals(2, undefined.getMissingPropertyFiles().size());
+    assertTrue(undefined.getValues().isEmpty());
+  }
 }
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.model.spellcheck;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.swabunga.spell.engine.SpellDictionaryHashMap;
+import com.swabunga.spell.engine.Word;
+import com.swabunga.spell.event.StringWordTokenizer;
+
+public class CachingSpellCheckerTest {
+
+  private CachingSpellChecker spellChecker;
+
+  @Before
+  public void setUp() throws IOException {
+    spellChecker = new CachingSpellChecker(2);
+    spellChecker.addDictionary(new SpellDictionaryHashMap(new StringReader("some\ntext\ncolor\n")));
+  }
+
+  @Test
+  public void wordsShouldBeLookedUpOnce() {
+    assertTrue(spellChecker.isCorrect("text"));
+    assertTrue(spellChecker.isCorrect("text"));
+    assertFalse(spellChecker.isCorrect("txet"));
+    assertFalse(spellChecker.isCorrect("txet"));
+
+    assertEquals(2, spellChecker.getHits());
+    assertEquals(2, spellChecker.getMisses());
+    assertEquals(0.5, spellChecker.getHitRate(), 0);
+  }
+
+  @Test
+  public void suggestionsShouldBeCachedByThreshold() {
+    assertEquals("color", ((Word) spellChecker.getSuggestions("colr", 1).get(0)).getWord());
+    spellChecker.getSuggestions("colr", 1);
+    spellChecker.getSuggestions("colr", 2);
+
+    assertEquals(1, spellChecker.getHits());
+    assertEquals(2, spellChecker.getMisses());
+  }
+
+  @Test
+  public void cacheShouldBeBounded() {
+    spellChecker.isCorrect("some");
+    spellChecker.isCorrect("text");
+    spellChecker.isCorrect("some");
+    spellChecker.isCorrect("color");
+    assertEquals(2, spellChecker.getSize());
+
+    // Least recently used word was evicted
+    spellChecker.isCorrect("some");
+    spellChecker.isCorrect("text");
+    assertEquals(2, spellChecker.getHits());
+    assertEquals(4, spellChecker.getMisses());
+  }
+
+  @Test
+  public void checkSpellingShouldUseCache() {
+    spellChecker.checkSpelling(new StringWordTokenizer("Some text, some text"));
+    assertEquals(3, spellChecker.getMisses());
+    assertEquals(1, spellChecker.getHits());
+  }
+
+  @Test
+  public void checkShouldReturnErrorsInOrder() {
+    List<SpellCheckError> errors = spellChecker.check("some txet and colr");
+
+    assertEquals(3, errors.size());
+    assertEquals("txet", errors.get(0).getError());
+    assertEquals(5, errors.get(0).getPosition());
+    assertEquals("and", errors.get(1).getError());
+    assertEquals("colr", errors.get(2).getError());
+    assertEquals("color", errors.get(2).getSuggestion());
+  }
+
+  @Test
+  public void suggestionsShouldBeComputedOnDemand() {
+    List<SpellCheckError> errors = spellChecker.check("colr");
+    assertEquals(1, spellChecker.getMisses());
+
+    assertEquals("color", errors.get(0).getSuggestion());
+    assertEquals("color", errors.get(0).getSuggestion());
+    assertEquals(2, spellChecker.getMisses());
+  }
+
+  @Test
+  public void checkShouldBeThreadSafe() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<List<SpellCheckError>>> results = new ArrayList<Future<List<SpellCheckError>>>();
+      for (int i = 0; i < 100; i++) {
+        final String message = (i % 2 == 0) ? "some txet" : "colr text";
+        results.add(executor.submit(new Callable<List<SpellCheckError>>() {
+          public List<SpellCheckError> call() {
+            return spellChecker.check(message);
+          }
+        }));
+      }
+      for (int i = 0; i < results.size(); i++) {
+        List<SpellCheckError> errors = results.get(i).get();
+        assertEquals(1, errors.size());
+        assertEquals((i % 2 == 0) ? "txet" : "colr", errors.get(0).getError());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void hitRateShouldBeZeroWithoutLookup() {
+    assertEquals(0, spellChecker.getHitRate(), 0);
+  }
+}
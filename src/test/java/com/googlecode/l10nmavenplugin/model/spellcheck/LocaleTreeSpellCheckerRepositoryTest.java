@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.model.spellcheck;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.googlecode.l10nmavenplugin.log.L10nValidatorLogger;
+import com.swabunga.spell.engine.SpellDictionary;
+import com.swabunga.spell.engine.SpellDictionaryHashMap;
+
+public class LocaleTreeSpellCheckerRepositoryTest {
+
+  private LocaleTreeSpellCheckerRepository repository;
+
+  @Before
+  public void setUp() throws IOException {
+    repository = new LocaleTreeSpellCheckerRepository(new L10nValidatorLogger());
+    repository.addDictionary(Locale.ENGLISH, new SpellDictionaryHashMap(new StringReader("color\n")));
+    repository.addDictionary(Locale.UK, new SpellDictionaryHashMap(new StringReader("colour\n")));
+    repository.addDictionary(null, new SpellDictionaryHashMap(new StringReader("Prague\n")));
+  }
+
+  @Test
+  public void spellCheckerShouldMatchLocaleHierarchy() {
+    CachingSpellChecker spellChecker = repository.getSpellChecker(Locale.UK);
+
+    assertTrue(spellChecker.isCorrect("colour"));
+    assertTrue(spellChecker.isCorrect("color"));
+    assertTrue(spellChecker.isCorrect("Prague"));
+    assertFalse(repository.getSpellChecker(Locale.US).isCorrect("colour"));
+  }
+
+  @Test
+  public void missingLocaleShouldHaveNoSpellChecker() {
+    assertNull(repository.getSpellChecker(Locale.FRENCH));
+    assertNull(repository.getSpellChecker(Locale.FRENCH));
+  }
+
+  @Test
+  public void dictionariesShouldBeLoadedLazilyAndOnce() {
+    CountingLoader french = new CountingLoader("couleur\n");
+    CountingLoader english = new CountingLoader("colors\n");
+    repository.addDictionary(Locale.FRENCH, french);
+    repository.addDictionary(Locale.ENGLISH, english);
+
+    repository.getSpellChecker(Locale.UK);
+    assertTrue(repository.getSpellChecker(Locale.US).isCorrect("colors"));
+
+    assertEquals(0, french.nbCalls.get());
+    assertEquals(1, english.nbCalls.get());
+  }
+
+  @Test
+  public void failingDictionaryShouldBeSkipped() {
+    repository.addDictionary(Locale.UK, new Callable<SpellDictionary>() {
+      public SpellDictionary call() throws IOException {
+        throw new IOException("Corrupted dictionary");
+      }
+    });
+
+    assertTrue(repository.getSpellChecker(Locale.UK).isCorrect("colour"));
+  }
+
+  @Test
+  public void localeShouldBeResolvedOnceAcrossThreads() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<CachingSpellChecker>> results = new ArrayList<Future<CachingSpellChecker>>();
+      for (int i = 0; i < 20; i++) {
+        results.add(executor.submit(new Callable<CachingSpellChecker>() {
+          public CachingSpellChecker call() {
+            return repository.getSpellChecker(Locale.UK);
+          }
+        }));
+      }
+      CachingSpellChecker spellChecker = results.get(0).get();
+      assertNotNull(spellChecker);
+      for (Future<CachingSpellChecker> result : results) {
+        assertSame(spellChecker, result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static class CountingLoader implements Callable<SpellDictionary> {
+
+    private final AtomicInteger nbCalls = new AtomicInteger();
+
+    private final String words;
+
+    public CountingLoader(String words) {
+      this.words = words;
+    }
+
+    public SpellDictionary call() throws IOException {
+      nbCalls.incrementAndGet();
+      return new SpellDictionaryHashMap(new StringReader(words));
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.model.spellcheck;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.swabunga.spell.engine.SpellDictionaryHashMap;
+import com.swabunga.spell.engine.Word;
+
+public class MappedSpellDictionaryTest {
+
+  private static final String WORDS = "some\ntext\ncolor\ncolour\ncenter\nthe\nThe\nPrague\nsyntactically\nvalid\nsentence\nna\u00efve\n";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private SpellDictionaryHashMap hashMapDictionary;
+
+  private MappedSpellDictionary mappedDictionary;
+
+  @Before
+  public void setUp() throws IOException {
+    hashMapDictionary = new SpellDictionaryHashMap(new StringReader(WORDS));
+
+    BinaryDictionaryWriter writer = new BinaryDictionaryWriter();
+    writer.addWords(new StringReader(WORDS));
+    File file = folder.newFile("en.bdic");
+    writer.write(file);
+    mappedDictionary = new MappedSpellDictionary(file);
+  }
+
+  @Test
+  public void lookupsShouldMatchWordList() {
+    String[] words = { "some", "Some", "SOME", "txet", "colr", "Prague", "prague", "the", "sentance", "", "zzz",
+        "na\u00efve", "Na\u00efve", "naive" };
+    for (String word : words) {
+      assertEquals(word, hashMapDictionary.isCorrect(word), mappedDictionary.isCorrect(word));
+      assertEquals(word, hashMapDictionary.getWords(hashMapDictionary.getCode(word)), mappedDictionary
+          .getWords(mappedDictionary.getCode(word)));
+    }
+  }
+
+  @Test
+  public void suggestionsShouldMatchWordList() {
+    String[] words = { "txet", "colr", "sentance", "syntacticaly" };
+    for (String word : words) {
+      assertEquals(word, toStrings(hashMapDictionary.getSuggestions(word, 1)), toStrings(mappedDictionary
+          .getSuggestions(word, 1)));
+    }
+  }
+
+  @Test
+  public void suggestionsShouldBeWords() {
+    SpellDictionary dictionary = mappedDictionary;
+    assertEquals("color", dictionary.getSuggestions("colr").get(0));
+    assertTrue(dictionary.isCorrect("colour"));
+  }
+
+  @Test
+  public void dictionaryShouldBeReadOnly() {
+    assertFalse(mappedDictionary.addWord("txet"));
+    assertFalse(mappedDictionary.isCorrect("txet"));
+  }
+
+  @Test(expected = IOException.class)
+  public void invalidFileShouldBeRejected() throws IOException {
+    File file = folder.newFile("en.dic");
+    FileOutputStream out = new FileOutputStream(file);
+    out.write(WORDS.getBytes("UTF-8"));
+    out.close();
+    new MappedSpellDictionary(file);
+  }
+
+  private List<String> toStrings(List<?> suggestions) {
+    List<String> words = new ArrayList<String>();
+    for (Object suggestion : suggestions) {
+      words.add(((Word) suggestion).getWord());
+    }
+    return words;
+  }
+}
@@ -9,8 +9,12 @@
  ******************************************************************************/
 package com.googlecode.l10nmavenplugin.report;
 
+import static org.mockito.Mockito.*;
+
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
 
 import org.apache.maven.doxia.sink.Sink;
@@ -78,4 +82,44 @@ public class L10nReportRendererTest {
     renderer.setReportItems(reportItems);
     renderer.render();
   }
+
+  @Test
+  public void suggestionsShouldOnlyBeComputedForDisplayedItems() {
+    Sink sink = mock(Sink.class);
+    renderer = new L10nReportRenderer(sink, ResourceBundle.getBundle("l10n-report"));
+    L10nReportItem item = spy(new L10nReportItem(Type.SPELLCHECK, "Spellcheck error", "test.properties", "ALLP.text.key", "Some engish text.", null));
+    when(item.getSuggestion()).thenReturn("Some english text.");
+    L10nReportItem notDisplayedItem = spy(new L10nReportItem(Type.SPELLCHECK, "Spellcheck error", "test.properties", "ALLP.text.other", "engish", null));
+    BoundedReportSink reportSink = new BoundedReportSink(1);
+    reportSink.add(item);
+    reportSink.add(notDisplayedItem);
+
+    renderer.setReportItems(reportSink.getReportItems());
+    renderer.setItemCounts(reportSink.getCounts());
+    renderer.render();
+
+    verify(sink).text("Spellcheck error Suggested correction: [Some english text.]");
+    verify(notDisplayedItem, never()).getSuggestion();
+  }
+
+  @Test
+  public void notDisplayedItemsShouldBeMentioned() {
+    Sink sink = mock(Sink.class);
+    renderer = new L10nReportRenderer(sink, ResourceBundle.getBundle("l10n-report"));
+    L10nReportItem item1 = new L10nReportItem(Type.HTML_VALIDATION, "Some text", "test.properties", "ALLP.text.invalid", "<a>", "");
+    L10nReportItem item2 = new L10nReportItem(Type.URL_VALIDATION, "Some text", "test.properties", "ALLP.url.invalid", "<a>", "");
+    reportItems.add(item1);
+    reportItems.add(item2);
+    Map<Type, Integer> itemCounts = new EnumMap<Type, Integer>(Type.class);
+    itemCounts.put(Type.HTML_VALIDATION, 3);
+    itemCounts.put(Type.URL_VALIDATION, 1);
+
+    renderer.setReportItems(reportItems);
+    renderer.setItemCounts(itemCounts);
+    renderer.render();
+
+    // Only for the truncated type
+    verify(sink, times(1)).text(contains("not displayed"));
+    verify(sink).text("2 more items are not displayed.");
+  }
 }
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.report;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+import com.googlecode.l10nmavenplugin.model.L10nReportItem.Type;
+
+public class ReportSinkTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void boundedSinkShouldCountAllItems() {
+    BoundedReportSink sink = new BoundedReportSink(2);
+    for (int i = 0; i < 5; i++) {
+      sink.add(new L10nReportItem(Type.HTML_VALIDATION, "", "test.properties", "key" + i, "", null));
+    }
+    sink.add(new L10nReportItem(Type.MISSING_TRANSLATION, "", "test.properties", "key", "", null));
+    sink.close();
+
+    assertEquals(6, sink.getNbItems());
+    assertEquals(5, sink.getNbItems(Type.HTML_VALIDATION));
+    assertEquals(3, sink.getReportItems().size());
+    assertEquals("key1", sink.getReportItems().get(1).getPropertiesKey());
+  }
+
+  @Test
+  public void jsonLinesSinkShouldWriteOneEscapedObjectPerItem() throws IOException {
+    File file = new File(folder.getRoot(), "report/l10n-report.jsonl");
+    JsonLinesReportSink sink = new JsonLinesReportSink(file);
+    sink.add(new L10nReportItem(Type.HTML_VALIDATION, "Some \"text\"", "test.properties", "ALLP.text.invalid",
+        "<a>\n\\", null, 3, 1));
+    sink.add(new L10nReportItem(Type.MISSING_TRANSLATION, "Missing", "test_fr.properties", "ALLP.text.key", null,
+        null));
+    sink.close();
+
+    List<String> lines = FileUtils.readLines(file, "UTF-8");
+    assertEquals(2, lines.size());
+    assertEquals("{\"type\":\"HTML_VALIDATION\",\"severity\":\"ERROR\",\"file\":\"test.properties\",\"line\":3,"
+        + "\"column\":1,\"key\":\"ALLP.text.invalid\",\"message\":\"Some \\\"text\\\"\",\"value\":\"<a>\\n\\\\\","
+        + "\"formattedValue\":null}", lines.get(0));
+    assertTrue(lines.get(1).startsWith("{\"type\":\"MISSING_TRANSLATION\""));
+    assertEquals(2, sink.getNbItems());
+  }
+}
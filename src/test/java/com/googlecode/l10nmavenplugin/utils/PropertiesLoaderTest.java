@@ -9,7 +9,10 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+import com.googlecode.l10nmavenplugin.model.L10nReportItem.Type;
 import com.googlecode.l10nmavenplugin.model.PropertiesFile;
+import com.googlecode.l10nmavenplugin.model.PropertyImpl;
 import com.googlecode.l10nmavenplugin.validators.AbstractL10nValidatorTest;
 
 public class PropertiesLoaderTest extends AbstractL10nValidatorTest<File> {
@@ -52,4 +55,39 @@ public class PropertiesLoaderTest extends AbstractL10nValidatorTest<File> {
     assertEquals("sub-folder.bundle", propertiesFile.getBundleName());
     assertEquals("sub-folder" + File.separator + "bundle.properties", propertiesFile.getFileName());
   }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void malformedPropertiesShouldFailIndexedLoading() {
+    File file = getFile("malformed/malformed.properties");
+
+    propertiesLoader.loadPropertiesFile(file, getFile("malformed"), items);
+  }
+
+  @Test
+  public void indexedLoadingShouldReportDuplicateKeys() {
+    File file = getFile("duplicates/Bundle.properties");
+
+    PropertiesFile propertiesFile = propertiesLoader.loadPropertiesFile(file, getFile("duplicates"), items);
+
+    assertEquals(2, items.size());
+    assertEquals(Type.DUPLICATE_KEY, items.get(0).getItemType());
+    // Last definition wins, as for java.util.Properties
+    assertEquals("Value 3", propertiesFile.getProperty("key"));
+    assertEquals(3, propertiesFile.getLineNumber("key"));
+    // Duplicate is reported at its own position
+    assertEquals(2, items.get(0).getLineNumber());
+    assertEquals(1, items.get(0).getColumnNumber());
+  }
+
+  @Test
+  public void reportItemsShouldCarryPositionOfProperty() {
+    File file = getFile("duplicates/Bundle.properties");
+    PropertiesFile propertiesFile = propertiesLoader.loadPropertiesFile(file, getFile("duplicates"), items);
+
+    L10nReportItem item = new L10nReportItem(Type.HTML_VALIDATION, "", new PropertyImpl("key", "Value 3",
+        propertiesFile), null);
+
+    assertEquals(3, item.getLineNumber());
+    assertEquals("Bundle.properties:3:1", item.getPropertiesLocation());
+  }
 }
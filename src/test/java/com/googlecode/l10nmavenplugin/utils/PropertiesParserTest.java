@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.utils;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PropertiesParserTest {
+
+  private static final String SAMPLE = "# Comment\r\n" + "! Other comment\n" + "   \n" + "a=1\n" + "b : 2\n"
+      + "c 3\n" + "  d\t=\t  4  \n" + "e\n" + "f=multi \\\n" + "    line \\\r\n" + "\tvalue\n"
+      + "g\\=h\\:i\\ j=escaped key\n" + "k=\\t\\n\\r\\f\\\\ \\q\n" + "l=\\u00e9t\\u00C9\n" + "m=\u00e9\u00e0\n"
+      + "n=\\\\\n" + "o==value\n" + "p=# not a comment\n" + "q=\\ leading\n" + "r=last\\";
+
+  private final Map<String, String> values = new HashMap<String, String>();
+
+  private final Map<String, Integer> lineNumbers = new HashMap<String, Integer>();
+
+  private final Map<String, Integer> columnNumbers = new HashMap<String, Integer>();
+
+  private final PropertiesParser.Handler handler = new PropertiesParser.Handler() {
+    public void property(String key, String value, int lineNumber, int columnNumber) {
+      values.put(key, value);
+      lineNumbers.put(key, lineNumber);
+      columnNumbers.put(key, columnNumber);
+    }
+  };
+
+  @Test
+  public void parsingShouldMatchJavaUtilProperties() throws IOException {
+    byte[] bytes = SAMPLE.getBytes("ISO-8859-1");
+    Properties properties = new Properties();
+    properties.load(new ByteArrayInputStream(bytes));
+
+    new PropertiesParser(ByteBuffer.wrap(bytes)).parse(handler);
+
+    assertEquals(properties, toProperties(values));
+    assertEquals("multi line value", values.get("f"));
+    assertEquals("\u00e9t\u00c9", values.get("l"));
+  }
+
+  @Test
+  public void lineNumbersShouldBeKept() throws IOException {
+    new PropertiesParser(ByteBuffer.wrap(SAMPLE.getBytes("ISO-8859-1"))).parse(handler);
+
+    assertEquals(Integer.valueOf(4), lineNumbers.get("a"));
+    assertEquals(Integer.valueOf(9), lineNumbers.get("f"));
+    // After a continuation line
+    assertEquals(Integer.valueOf(12), lineNumbers.get("g=h:i j"));
+  }
+
+  @Test
+  public void columnNumbersShouldPointToKeys() throws IOException {
+    new PropertiesParser(ByteBuffer.wrap(SAMPLE.getBytes("ISO-8859-1"))).parse(handler);
+
+    assertEquals(Integer.valueOf(1), columnNumbers.get("a"));
+    assertEquals(Integer.valueOf(3), columnNumbers.get("d"));
+    assertEquals(Integer.valueOf(1), columnNumbers.get("g=h:i j"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void malformedUnicodeEscapeShouldFail() throws IOException {
+    new PropertiesParser(ByteBuffer.wrap("key=\\u00zz".getBytes("ISO-8859-1"))).parse(handler);
+  }
+
+  @Test
+  public void largeFilesShouldBeParsed() throws IOException {
+    File file = new File(new TemporaryFolder().newFolder(), "large.properties");
+    List<String> keys = new ArrayList<String>();
+    OutputStream out = new FileOutputStream(file);
+    try {
+      for (int i = 0; file.length() <= PropertiesParser.MAX_REUSED_BUFFER_SIZE; i++) {
+        keys.add("key" + i);
+        out.write(("key" + i + "=value " + i + "\n").getBytes("ISO-8859-1"));
+        out.flush();
+      }
+    } finally {
+      out.close();
+    }
+
+    PropertiesParser.parse(file, handler);
+
+    assertEquals(keys.size(), values.size());
+    assertEquals("value 0", values.get("key0"));
+    assertEquals(Integer.valueOf(keys.size()), lineNumbers.get(keys.get(keys.size() - 1)));
+    // File is not locked by a mapping
+    assertTrue(file.delete());
+  }
+
+  private Properties toProperties(Map<String, String> map) {
+    Properties properties = new Properties();
+    properties.putAll(map);
+    return properties;
+  }
+}
@@ -29,6 +29,7 @@ import com.googlecode.l10nmavenplugin.model.L10nReportItem;
 import com.googlecode.l10nmavenplugin.model.L10nReportItem.Type;
 import com.googlecode.l10nmavenplugin.model.PropertiesFamily;
 import com.googlecode.l10nmavenplugin.model.PropertiesFile;
+import com.googlecode.l10nmavenplugin.report.ReportSink;
 
 /**
  * Abstract class for {@link L10nValidator} unit tests, to share common initializations and pre-defined constants.
@@ -114,7 +115,7 @@ public abstract class AbstractL10nValidatorTest<T> {
    * Used to inject a "neutral" nested validator for tests
    * 
    */
-  protected static class AlwaysSucceedingValidator<T> implements L10nValidator<T> {
+  protected static class AlwaysSucceedingValidator<T> implements StreamingL10nValidator<T> {
 
     public AlwaysSucceedingValidator() {
     }
@@ -123,6 +124,10 @@ public abstract class AbstractL10nValidatorTest<T> {
       return 0;
     }
 
+    public int validate(T toValidate, ReportSink reportSink) throws L10nValidationException {
+      return 0;
+    }
+
     public boolean shouldValidate(T toValidate) {
       return true;
     }
@@ -151,7 +156,7 @@ public abstract class AbstractL10nValidatorTest<T> {
    * Used to test handling of ignored properties
    * 
    */
-  protected static class AlwaysRefusingValidator<T> implements L10nValidator<T> {
+  protected static class AlwaysRefusingValidator<T> implements StreamingL10nValidator<T> {
 
     public AlwaysRefusingValidator() {
     }
@@ -160,6 +165,10 @@ public abstract class AbstractL10nValidatorTest<T> {
       throw new L10nValidationException("Should not have called validate");
     }
 
+    public int validate(T toValidate, ReportSink reportSink) throws L10nValidationException {
+      throw new L10nValidationException("Should not have called validate");
+    }
+
     public boolean shouldValidate(T toValidate) {
       return false;
     }
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.validators;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.apache.commons.lang.StringUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PropertiesKeyClassifierTest {
+
+  private static final String[] HTML_KEYS = new String[] { ".text.", ".html." };
+
+  private static final String[] JS_KEYS = new String[] { ".js." };
+
+  private static final String[] OVERLAPPING_KEYS = new String[] { "text", "xt.k", "t" };
+
+  private PropertiesKeyClassifier classifier;
+
+  @Before
+  public void setUp() {
+    classifier = new PropertiesKeyClassifier();
+  }
+
+  @Test
+  public void keysShouldBeClassifiedAgainstAllConventions() {
+    int html = classifier.register(HTML_KEYS);
+    int js = classifier.register(JS_KEYS);
+
+    assertTrue(classifier.matches("ALLP.text.key", html));
+    assertFalse(classifier.matches("ALLP.text.key", js));
+    assertTrue(classifier.matches("ALLP.js.text.key", js));
+    assertTrue(classifier.matches("ALLP.js.text.key", html));
+    assertFalse(classifier.matches("ALLP.title.key", html));
+    assertFalse(classifier.matches(null, html));
+  }
+
+  @Test
+  public void identicalConventionsShouldBeRegisteredOnce() {
+    int html = classifier.register(HTML_KEYS);
+    classifier.register(JS_KEYS);
+
+    assertEquals(html, classifier.register(new String[] { ".text.", ".html." }));
+  }
+
+  @Test
+  public void classificationShouldBeSameAsIndexOfAny() {
+    String[][] conventions = new String[][] { HTML_KEYS, JS_KEYS, OVERLAPPING_KEYS, new String[] {}, null,
+        new String[] { "" }, new String[] { "aab", "ab", "b.a" } };
+    int[] indexes = new int[conventions.length];
+    for (int i = 0; i < conventions.length; i++) {
+      indexes[i] = classifier.register(conventions[i]);
+    }
+
+    Random random = new Random(0);
+    String alphabet = "abtx.jsk";
+    for (int n = 0; n < 2000; n++) {
+      StringBuilder key = new StringBuilder();
+      int length = random.nextInt(12);
+      for (int i = 0; i < length; i++) {
+        key.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      for (int i = 0; i < conventions.length; i++) {
+        assertEquals(key + " " + i, StringUtils.indexOfAny(key.toString(), conventions[i]) != -1,
+            classifier.matches(key.toString(), indexes[i]));
+      }
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void conventionsShouldNotBeRegisteredAfterClassification() {
+    int html = classifier.register(HTML_KEYS);
+    classifier.matches("ALLP.text.key", html);
+
+    classifier.register(JS_KEYS);
+  }
+}
@@ -75,6 +75,28 @@ public class HtmlTagCoherenceValidatorTest extends AbstractL10nValidatorTest<Pro
     assertEquals(1, items.size());
   }
 
+  @Test
+  public void tagSignatureShouldListNestedTagsOrderedByName() throws Exception {
+    HtmlTagCoherenceValidator tagValidator = new HtmlTagCoherenceValidator(logger, new String[] { ".text." });
+
+    assertEquals("", tagValidator.getTagSignature("Some text"));
+    assertEquals("div a b span", tagValidator.getTagSignature("<div><span /><a href=''><b>A</b></a></div>"));
+    assertEquals("b i b", tagValidator.getTagSignature("<b><i>A</i></b> &nbsp; <b>B</b>"));
+    assertEquals("b b i", tagValidator.getTagSignature("<b>B</b><b><i>A</i></b>"));
+  }
+
+  @Test
+  public void incoherentTagsShouldBeDisplayedAsList() {
+    bundleA.put(KEY_KO, "<div><a href=''>A link</a></div>");
+    bundleB.put(KEY_KO, "<div><a href=''> A translated link </a></div>");
+    bundleC.put(KEY_KO, "<a href=''>A link</a>");
+    PropertyFamily propertyFamily = new BundlePropertyFamily(KEY_KO, propertiesFamily);
+
+    validator.validate(propertyFamily, items);
+    assertEquals(1, items.size());
+    assertTrue(items.get(0).getItemMessage(), items.get(0).getItemMessage().startsWith("Incoherent usage of html tags: [a] versus [div, a]"));
+  }
+
   @Test
   public void testShouldValidate() {
     assertTrue(validator.shouldValidate(new BundlePropertyFamily("page.text.key", propertiesFamily)));
@@ -11,19 +11,31 @@ package com.googlecode.l10nmavenplugin.validators.orchestrator;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.hamcrest.beans.HasPropertyWithValue;
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+import com.googlecode.l10nmavenplugin.model.L10nReportItem.Type;
 import com.googlecode.l10nmavenplugin.model.PropertiesFamily;
+import com.googlecode.l10nmavenplugin.model.PropertyFamily;
+import com.googlecode.l10nmavenplugin.report.BoundedReportSink;
 import com.googlecode.l10nmavenplugin.validators.AbstractL10nValidatorTest;
+import com.googlecode.l10nmavenplugin.validators.L10nValidationException;
+import com.googlecode.l10nmavenplugin.validators.L10nValidator;
 
 public class DirectoryValidatorTest extends AbstractL10nValidatorTest<File> {
 
@@ -35,8 +47,7 @@ public class DirectoryValidatorTest extends AbstractL10nValidatorTest<File> {
   @Before
   public void setUp() {
     super.setUp();
-    validator = new DirectoryValidator(logger, new AlwaysSucceedingValidator<PropertiesFamily>(),
-        new AlwaysSucceedingValidator<File>());
+    validator = new DirectoryValidator(logger, new AlwaysSucceedingBundleValidator());
     propertiesFamilies = new ArrayList<PropertiesFamily>();
   }
 
@@ -111,4 +122,130 @@ public class DirectoryValidatorTest extends AbstractL10nValidatorTest<File> {
 
     assertEquals(1, propertiesFamilies.size());
   }
+
+  @Test
+  public void duplicateKeysShouldBeDetectedWhileLoading() {
+    File directory = getFile("duplicates");
+
+    int nbErrors = validator.loadPropertiesFamily(directory, items, propertiesFamilies);
+
+    assertEquals(2, nbErrors);
+    assertEquals(2, items.size());
+    assertEquals(Type.DUPLICATE_KEY, items.get(0).getItemType());
+    assertEquals(1, propertiesFamilies.size());
+  }
+
+  @Test
+  public void parallelValidationShouldMergeItemsInBundleOrder() {
+    File directory = getFile("multi-bundle");
+    List<L10nReportItem> sequentialItems = new ArrayList<L10nReportItem>();
+    validator = new DirectoryValidator(logger, new BundleNameReportingValidator(), 1);
+    int nbErrorsSequential = validator.validate(directory, sequentialItems);
+
+    validator = new DirectoryValidator(logger, new BundleNameReportingValidator(), 4);
+    int nbErrors = validator.validate(directory, items);
+
+    assertEquals(3, nbErrors);
+    assertEquals(nbErrorsSequential, nbErrors);
+    assertEquals(3, items.size());
+    for (int i = 0; i < items.size(); i++) {
+      assertEquals(sequentialItems.get(i).getPropertiesName(), items.get(i).getPropertiesName());
+    }
+  }
+
+  @Test
+  public void itemsShouldBeStreamedToSinkInBundleOrder() {
+    File directory = getFile("multi-bundle");
+    validator = new DirectoryValidator(logger, new BundleNameReportingValidator(), 1);
+    validator.validate(directory, items);
+
+    validator = new DirectoryValidator(logger, new BundleNameReportingValidator(), 4);
+    BoundedReportSink sink = new BoundedReportSink(2);
+    int nbErrors = validator.validate(directory, sink);
+
+    assertEquals(3, nbErrors);
+    assertEquals(3, sink.getNbItems(Type.HTML_VALIDATION));
+    assertEquals(items.subList(0, 2), sink.getReportItems());
+  }
+
+  @Test(expected = L10nValidationException.class)
+  public void parallelValidationShouldPropagateExceptions() {
+    validator = new DirectoryValidator(logger, new AlwaysRefusingBundleValidator(), 4);
+
+    validator.validate(getFile("multi-bundle"), items);
+  }
+
+  @Test
+  public void unchangedBundlesShouldBeReplayedFromCache() throws IOException {
+    File directory = getFile("multi-bundle");
+    ValidationCache cache = new ValidationCache(logger, new TemporaryFolder().newFolder(), "");
+    List<L10nReportItem> firstItems = new ArrayList<L10nReportItem>();
+    validator = new DirectoryValidator(logger, new BundleNameReportingValidator());
+    validator.setValidationCache(cache);
+    validator.validate(directory, firstItems);
+
+    // Bundles are not validated again
+    validator = new DirectoryValidator(logger, new AlwaysRefusingBundleValidator());
+    validator.setValidationCache(cache);
+    int nbErrors = validator.validate(directory, items);
+
+    assertEquals(3, nbErrors);
+    assertEquals(firstItems, items);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void replayedBundlesShouldGenerateCsv() throws IOException {
+    File directory = getFile("multi-bundle");
+    File reportsDir = new TemporaryFolder().newFolder();
+    ValidationCache cache = new ValidationCache(logger, new TemporaryFolder().newFolder(), "");
+    validator = new DirectoryValidator(logger, new PropertiesFamilyValidator(logger, reportsDir,
+        new AlwaysRefusingValidator<PropertyFamily>()));
+    validator.setValidationCache(cache);
+    validator.validate(directory, new ArrayList<L10nReportItem>());
+    String[] csvFiles = reportsDir.list();
+    FileUtils.cleanDirectory(reportsDir);
+
+    L10nValidator<PropertyFamily> propertyFamilyValidator = mock(L10nValidator.class);
+    validator = new DirectoryValidator(logger, new PropertiesFamilyValidator(logger, reportsDir,
+        propertyFamilyValidator));
+    validator.setValidationCache(cache);
+    validator.validate(directory, items);
+
+    verifyZeroInteractions(propertyFamilyValidator);
+    assertTrue(csvFiles.length > 0);
+    assertEquals(new HashSet<String>(Arrays.asList(csvFiles)), new HashSet<String>(Arrays.asList(reportsDir.list())));
+  }
+
+  /**
+   * Reports 1 error per bundle, named after the bundle
+   */
+  private static class BundleNameReportingValidator implements BundleL10nValidator {
+
+    public int validate(PropertiesFamily propertiesFamily, List<L10nReportItem> reportItems) {
+      reportItems.add(new L10nReportItem(Type.HTML_VALIDATION, "", propertiesFamily.getBaseName(), "", "", null));
+      return 1;
+    }
+
+    public boolean shouldValidate(PropertiesFamily propertiesFamily) {
+      return true;
+    }
+
+    public void reportBundle(PropertiesFamily propertiesFamily, List<L10nReportItem> bundleItems) {
+    }
+  }
+
+  private static class AlwaysSucceedingBundleValidator extends AlwaysSucceedingValidator<PropertiesFamily> implements
+      BundleL10nValidator {
+
+    public void reportBundle(PropertiesFamily propertiesFamily, List<L10nReportItem> bundleItems) {
+    }
+  }
+
+  private static class AlwaysRefusingBundleValidator extends AlwaysRefusingValidator<PropertiesFamily> implements
+      BundleL10nValidator {
+
+    public void reportBundle(PropertiesFamily propertiesFamily, List<L10nReportItem> bundleItems) {
+    }
+  }
 }
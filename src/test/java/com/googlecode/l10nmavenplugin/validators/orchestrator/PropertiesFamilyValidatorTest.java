@@ -61,6 +61,21 @@ public class PropertiesFamilyValidatorTest extends AbstractL10nValidatorTest<Pro
     assertEquals(2, items.size());
   }
 
+  @Test
+  public void csvShouldOnlyContainItemsOfTheBundle() throws IOException {
+    File reportsDir = new TemporaryFolder().newFolder();
+    validator = new PropertiesFamilyValidator(logger, reportsDir, new AlwaysRefusingValidator<PropertyFamily>());
+    // Item of a previously validated bundle
+    items.add(new L10nReportItem(Type.HTML_VALIDATION, "blabla", "other_EN", "KO.key", "blabla", ""));
+    bundleA.put(KEY_OK, "");
+
+    validator.validate(propertiesFamily, items);
+
+    assertEquals(2, items.size());
+    assertFalse(new File(reportsDir, propertiesFamily.getBaseName() + "-ERROR.csv").exists());
+    assertTrue(new File(reportsDir, propertiesFamily.getBaseName() + "-INFO.csv").exists());
+  }
+
   @Test
   public void testGenerateCsv() {
     items.add(new L10nReportItem(Type.HTML_VALIDATION, "blabla", "base_EN", "KO.key", "blabla", ""));
@@ -67,4 +67,23 @@ public class PropertyValidatorTest extends AbstractL10nValidatorTest<Property> {
     verify(defaultValidator).validate(any(Property.class), anyListOf(L10nReportItem.class));
 
   }
+
+  @Test
+  public void validatorShouldBeResolvedFromKey() {
+    L10nValidator<Property> plainTextValidator = new AlwaysFailingValidator<Property>();
+    validator.setPlainTextValidator(plainTextValidator);
+
+    assertSame(plainTextValidator, validator.resolveValidator(new PropertyImpl("ALLP.title.key", "Some text", FILE)));
+  }
+
+  @Test
+  public void resolvedValidatorShouldBeApplied() {
+    L10nValidator<Property> keyValidator = spy(new AlwaysFailingValidator<Property>());
+
+    int nbErrors = validator.validate(new PropertyImpl("ALLP.default", "Some text", FILE), keyValidator, items);
+
+    assertEquals(1, nbErrors);
+    verify(keyValidator).validate(any(Property.class), anyListOf(L10nReportItem.class));
+    verify(defaultValidator, never()).validate(any(Property.class), anyListOf(L10nReportItem.class));
+  }
 }
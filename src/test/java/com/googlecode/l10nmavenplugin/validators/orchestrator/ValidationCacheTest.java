@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.validators.orchestrator;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.googlecode.l10nmavenplugin.log.L10nValidatorLogger;
+import com.googlecode.l10nmavenplugin.model.BundlePropertiesFamily;
+import com.googlecode.l10nmavenplugin.model.BundlePropertiesFile;
+import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+import com.googlecode.l10nmavenplugin.model.L10nReportItem.Type;
+import com.googlecode.l10nmavenplugin.model.PropertiesFamily;
+import com.googlecode.l10nmavenplugin.model.PropertiesFile;
+import com.googlecode.l10nmavenplugin.model.PropertyFamily;
+import com.googlecode.l10nmavenplugin.model.PropertyImpl;
+import com.googlecode.l10nmavenplugin.model.spellcheck.SpellCheckReportItem;
+import com.googlecode.l10nmavenplugin.validators.AbstractL10nValidatorTest;
+import com.googlecode.l10nmavenplugin.validators.property.SpellCheckValidator;
+
+public class ValidationCacheTest extends AbstractL10nValidatorTest<PropertiesFamily> {
+
+  private ValidationCache cache;
+
+  private File cacheDir;
+
+  private File directory;
+
+  private List<PropertiesFamily> bundles;
+
+  @Before
+  public void setUpBefore() throws IOException {
+    super.setUp();
+
+    // Junit bug can't use tmpFolder in @Before
+    File tmpDir = new TemporaryFolder().newFolder();
+    cacheDir = new File(tmpDir, "cache");
+    directory = new File(tmpDir, "bundles");
+    FileUtils.copyDirectory(getFile("locales"), directory);
+
+    cache = new ValidationCache(logger, cacheDir, "htmlKeys=[.text.]");
+
+    bundles = loadBundles();
+  }
+
+  private List<PropertiesFamily> loadBundles() {
+    List<PropertiesFamily> loadedBundles = new ArrayList<PropertiesFamily>();
+    new DirectoryValidator(logger, new PropertiesFamilyValidator(logger, null,
+        new AlwaysSucceedingValidator<PropertyFamily>())).loadPropertiesFamily(directory, items, loadedBundles);
+    return loadedBundles;
+  }
+
+  @Test
+  public void keyShouldNotNeedToReadFilesAgain() throws IOException {
+    PropertiesFamily bundle = bundles.get(0);
+    String key = cache.computeKey(directory, bundle);
+
+    // Digests computed while loading are used
+    FileUtils.deleteDirectory(directory);
+    assertEquals(key, cache.computeKey(directory, bundle));
+  }
+
+  @Test
+  public void storedItemsShouldBeReplayed() {
+    PropertiesFamily bundle = bundles.get(0);
+    String key = cache.computeKey(directory, bundle);
+    items.add(new L10nReportItem(Type.HTML_VALIDATION, "message", "Bundle.properties", "key", "value", null));
+    items.add(new L10nReportItem(Type.SPELLCHECK, "message", "Bundle_en.properties", "key", "value", "formatted", 12,
+        3));
+    cache.store(bundle, key, 1, items);
+
+    List<L10nReportItem> replayedItems = new ArrayList<L10nReportItem>();
+    assertEquals(Integer.valueOf(1), cache.replay(bundle, key, replayedItems));
+    assertEquals(items, replayedItems);
+    assertNull(replayedItems.get(0).getFormattedPropertiesValue());
+    assertEquals("formatted", replayedItems.get(1).getFormattedPropertiesValue());
+    assertEquals(12, replayedItems.get(1).getLineNumber());
+    assertEquals(3, replayedItems.get(1).getColumnNumber());
+  }
+
+  @Test
+  public void spellCheckItemsShouldBeReplayedWithSuggestion() throws URISyntaxException {
+    SpellCheckValidator spellCheckValidator = new SpellCheckValidator(new L10nValidatorLogger(), new File(getClass()
+        .getClassLoader().getResource("").toURI()));
+    spellCheckValidator.setSuggestions(false);
+    spellCheckValidator.validate(new PropertyImpl("key", "Some engish text.", FILE), items);
+    PropertiesFamily bundle = bundles.get(0);
+    String key = cache.computeKey(directory, bundle);
+    cache.store(bundle, key, 0, items);
+
+    List<L10nReportItem> replayedItems = new ArrayList<L10nReportItem>();
+    cache.setSpellCheckerRepository(spellCheckValidator.getSpellCheckerRepository());
+    cache.replay(bundle, key, replayedItems);
+
+    assertTrue(replayedItems.get(0) instanceof SpellCheckReportItem);
+    assertEquals(items.get(0).getItemMessage(), replayedItems.get(0).getItemMessage());
+    assertEquals("Some english text.", replayedItems.get(0).getSuggestion());
+  }
+
+  @Test
+  public void missingEntryShouldNotBeReplayed() {
+    PropertiesFamily bundle = bundles.get(0);
+
+    assertNull(cache.replay(bundle, cache.computeKey(directory, bundle), items));
+  }
+
+  @Test
+  public void modifiedBundleShouldNotBeReplayed() throws IOException {
+    PropertiesFamily bundle = bundles.get(0);
+    String key = cache.computeKey(directory, bundle);
+    cache.store(bundle, key, 0, items);
+
+    File file = new File(directory, bundle.getRootPropertiesFile().getFileName());
+    FileUtils.writeStringToFile(file, "\nALLP.text.new=new", "ISO-8859-1", true);
+    String newKey = cache.computeKey(directory, loadBundles().get(0));
+
+    assertFalse(key.equals(newKey));
+    assertNull(cache.replay(bundle, newKey, items));
+  }
+
+  @Test
+  public void configurationChangeShouldInvalidateKey() {
+    PropertiesFamily bundle = bundles.get(0);
+    ValidationCache otherCache = new ValidationCache(logger, cacheDir, "htmlKeys=[.html.]");
+
+    assertEquals(cache.computeKey(directory, bundle), cache.computeKey(directory, bundle));
+    assertFalse(cache.computeKey(directory, bundle).equals(otherCache.computeKey(directory, bundle)));
+  }
+
+  @Test
+  public void distinctBundlesShouldUseDistinctFiles() {
+    PropertiesFamily bundle1 = createBundle("a/b.properties");
+    PropertiesFamily bundle2 = createBundle("a_b.properties");
+
+    assertFalse(cache.getCacheFile(bundle1).equals(cache.getCacheFile(bundle2)));
+  }
+
+  @Test
+  public void bundlesWithSameBaseNameShouldUseDistinctEntries() {
+    PropertiesFamily bundle1 = createBundle("my_app/Foo.properties", "my_app/Foo_fr.properties");
+    PropertiesFamily bundle2 = createBundle("my_lib/Bar.properties");
+    assertEquals(bundle1.getBaseName(), bundle2.getBaseName());
+    items.add(new L10nReportItem(Type.HTML_VALIDATION, "message", "my_app/Foo.properties", "key", "value", null));
+
+    cache.store(bundle1, "key1", 1, items);
+    cache.store(bundle2, "key2", 0, new ArrayList<L10nReportItem>());
+
+    assertFalse(cache.getCacheFile(bundle1).equals(cache.getCacheFile(bundle2)));
+    assertEquals(Integer.valueOf(1), cache.replay(bundle1, "key1", new ArrayList<L10nReportItem>()));
+    assertEquals(Integer.valueOf(0), cache.replay(bundle2, "key2", new ArrayList<L10nReportItem>()));
+  }
+
+  private PropertiesFamily createBundle(String... fileNames) {
+    List<PropertiesFile> propertiesFiles = new ArrayList<PropertiesFile>();
+    for (String fileName : fileNames) {
+      propertiesFiles.add(new BundlePropertiesFile(fileName, new Properties()));
+    }
+    return new BundlePropertiesFamily(propertiesFiles);
+  }
+
+  @Test
+  public void storeShouldReplaceEntryWithoutLeavingTemporaryFiles() {
+    PropertiesFamily bundle = bundles.get(0);
+    String key = cache.computeKey(directory, bundle);
+
+    cache.store(bundle, key, 1, new ArrayList<L10nReportItem>());
+    cache.store(bundle, key, 2, new ArrayList<L10nReportItem>());
+
+    assertEquals(Integer.valueOf(2), cache.replay(bundle, key, new ArrayList<L10nReportItem>()));
+    assertEquals(1, cacheDir.list().length);
+  }
+
+  @Test
+  public void corruptedEntryShouldNotBeReplayed() throws IOException {
+    PropertiesFamily bundle = bundles.get(0);
+    String key = cache.computeKey(directory, bundle);
+    cache.store(bundle, key, 0, items);
+    FileUtils.writeStringToFile(cache.getCacheFile(bundle), "corrupted");
+
+    assertNull(cache.replay(bundle, key, items));
+  }
+
+  @Test
+  public void corruptedLengthsShouldNotBeAllocated() throws IOException {
+    PropertiesFamily bundle = bundles.get(0);
+    String key = cache.computeKey(directory, bundle);
+    List<L10nReportItem> storedItems = new ArrayList<L10nReportItem>();
+    storedItems.add(new L10nReportItem(Type.SPELLCHECK, "message", "test.properties", "key", "value", null));
+
+    // Offsets after version, key and number of errors
+    int nbItemsOffset = 4 + 4 + key.length() + 4;
+    cache.store(bundle, key, 0, storedItems);
+    overwriteInt(cache.getCacheFile(bundle), nbItemsOffset, Integer.MAX_VALUE);
+    assertNull(cache.replay(bundle, key, items));
+
+    cache.store(bundle, key, 0, storedItems);
+    overwriteInt(cache.getCacheFile(bundle), nbItemsOffset + 4, Integer.MAX_VALUE - 8);
+    assertNull(cache.replay(bundle, key, items));
+    assertEquals(0, items.size());
+  }
+
+  private void overwriteInt(File file, long offset, int value) throws IOException {
+    RandomAccessFile raf = new RandomAccessFile(file, "rw");
+    try {
+      raf.seek(offset);
+      raf.writeInt(value);
+    } finally {
+      raf.close();
+    }
+  }
+}
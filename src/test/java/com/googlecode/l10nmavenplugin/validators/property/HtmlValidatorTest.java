@@ -16,6 +16,12 @@ import static org.mockito.Mockito.*;
 import java.io.File;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -24,6 +30,8 @@ import com.googlecode.l10nmavenplugin.format.Formatter;
 import com.googlecode.l10nmavenplugin.format.InnerResourcesFormatter;
 import com.googlecode.l10nmavenplugin.format.MessageFormatFormatter;
 import com.googlecode.l10nmavenplugin.log.L10nValidatorLogger;
+import com.googlecode.l10nmavenplugin.model.L10nReportItem;
+import com.googlecode.l10nmavenplugin.model.L10nReportItem.Type;
 import com.googlecode.l10nmavenplugin.model.Property;
 import com.googlecode.l10nmavenplugin.model.PropertyImpl;
 import com.googlecode.l10nmavenplugin.validators.AbstractL10nValidatorTest;
@@ -148,6 +156,14 @@ public class HtmlValidatorTest extends AbstractL10nValidatorTest<Property> {
         validator.validate(new PropertyImpl(KEY_KO, "<div>Text1<a href=\"http://\">Text2</a></div>", FILE), items));
   }
 
+  @Test
+  public void spellCheckShouldBeSkippedOnFatalError() {
+    validator.setSpellCheckValidator(new AlwaysFailingValidator<Property>());
+
+    assertEquals(1, validator.validate(new PropertyImpl(KEY_KO, "<div>Text1<a href=\"http://\">Text2</a>", FILE), items));
+    assertEquals(Type.HTML_VALIDATION, items.get(0).getItemType());
+  }
+
   @Test
   public void testSpellCheck() {
     URL url = getClass().getClassLoader().getResource("");
@@ -180,10 +196,44 @@ public class HtmlValidatorTest extends AbstractL10nValidatorTest<Property> {
     assertEquals(items.toString(), 1, items.size());
   }
 
+  @Test
+  public void severalLisShouldAnalyzeRawMessage() {
+    Formatter formatter = spy(new MessageFormatFormatter());
+    HtmlValidator liValidator = new HtmlValidator(HtmlValidator.XHTML5, logger, null, new String[] { ".text." },
+        formatter, null);
+    String message = "<li>Item {0}</li> <li>Item 2</li>";
+
+    assertEquals(0, liValidator.validate(new PropertyImpl(KEY_OK, message, FILE), items));
+    verify(formatter).isParametric(message);
+    verify(formatter).defaultFormat(message);
+  }
+
   @Test
   public void invalidSchemaShouldDefaultToXhtml1() {
     validator = new HtmlValidator(new File("dummy"), logger, null, new String[] {}, null, null);
 
     verify(log).error(contains("Could not load XML schema"));
   }
+
+  @Test
+  public void concurrentValidationShouldBeIsolated() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+      for (int i = 0; i < 100; i++) {
+        final String value = (i % 2 == 0) ? "<div>Some Text on<a href=\"www.google.fr\">Google</a></div>"
+            : "<div>Some Text";
+        results.add(executor.submit(new Callable<Integer>() {
+          public Integer call() {
+            return validator.validate(new PropertyImpl(KEY_OK, value, FILE), new ArrayList<L10nReportItem>());
+          }
+        }));
+      }
+      for (int i = 0; i < results.size(); i++) {
+        assertEquals(i % 2, results.get(i).get().intValue());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
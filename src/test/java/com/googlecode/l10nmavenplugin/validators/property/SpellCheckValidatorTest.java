@@ -9,6 +9,7 @@
  ******************************************************************************/
 package com.googlecode.l10nmavenplugin.validators.property;
 
+import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
 import java.io.File;
@@ -65,6 +66,26 @@ public class SpellCheckValidatorTest extends AbstractL10nValidatorTest<Property>
     assertEquals(3, items.size());
   }
 
+  @Test
+  public void correctionShouldBeSuggested() {
+    validator.validate(new PropertyImpl(KEY_KO, "Some engish text.", FILE), items);
+    assertThat(items.get(0).getItemMessage(), containsString("Suggested correction: [Some english text.]"));
+  }
+
+  @Test
+  public void suggestionsCanBeDisabled() throws URISyntaxException {
+    SpellCheckValidator val = new SpellCheckValidator(new L10nValidatorLogger(), new File(getClass().getClassLoader()
+        .getResource("").toURI()));
+    val.setSuggestions(false);
+    val.validate(new PropertyImpl(KEY_KO, "Some engish text.", FILE), items);
+
+    assertEquals(1, items.size());
+    assertThat(items.get(0).getItemMessage(), containsString("[engish]"));
+    assertThat(items.get(0).getItemMessage(), not(containsString("Suggested correction")));
+    // Computed on demand
+    assertEquals("Some english text.", items.get(0).getSuggestion());
+  }
+
   @Test
   public void validationShouldBeSkippedForMissingLocale() {
     validator.validate(new PropertyImpl(KEY_KO, "Un text en françai", new BundlePropertiesFile("junit_FR.properties",
@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2012 Romain Quinio (http://code.google.com/p/l10n-maven-plugin)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ ******************************************************************************/
+package com.googlecode.l10nmavenplugin.validators.property;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+public class XhtmlFragmentReaderTest {
+
+  private static final String PREFIX = "<html xmlns=\"http://www.w3.org/1999/xhtml\"><head><title /></head><body><div>";
+
+  private static final String SUFFIX = "</div></body></html>";
+
+  private final XhtmlFragmentReader reader = new XhtmlFragmentReader();
+
+  @Test
+  public void fragmentShouldBeWrappedIntoDocument() throws IOException {
+    assertEquals(PREFIX + "Some <b>text</b>" + SUFFIX, IOUtils.toString(reader.reset("Some <b>text</b>")));
+    assertEquals(PREFIX + SUFFIX, IOUtils.toString(reader.reset("")));
+  }
+
+  @Test
+  public void htmlEntitiesShouldBeReplaced() throws IOException {
+    assertEquals(PREFIX + "A&#160;&#169;&#8211;B" + SUFFIX, IOUtils.toString(reader.reset("A&nbsp;&copy;&ndash;B")));
+    assertEquals(PREFIX + "&#8364;" + SUFFIX, IOUtils.toString(reader.reset("&euro;")));
+  }
+
+  @Test
+  public void otherEntitiesShouldBeLeftUnchanged() throws IOException {
+    assertEquals(PREFIX + "&amp;&hellip;&nbsp&nbspx;A & B" + SUFFIX,
+        IOUtils.toString(reader.reset("&amp;&hellip;&nbsp&nbspx;A & B")));
+  }
+}
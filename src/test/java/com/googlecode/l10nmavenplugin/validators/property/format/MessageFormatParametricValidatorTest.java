@@ -15,6 +15,7 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import com.googlecode.l10nmavenplugin.format.MessageFormatScanner;
 import com.googlecode.l10nmavenplugin.model.Property;
 import com.googlecode.l10nmavenplugin.model.PropertyImpl;
 import com.googlecode.l10nmavenplugin.validators.AbstractL10nValidatorTest;
@@ -30,28 +31,28 @@ public class MessageFormatParametricValidatorTest extends AbstractL10nValidatorT
 
   @Test
   public void testUnescapedQuotesPattern() {
-    assertFalse(MessageFormatFormattingValidator.UNESCAPED_QUOTE_PATTERN.matcher("Some text").matches());
-    assertFalse(MessageFormatFormattingValidator.UNESCAPED_QUOTE_PATTERN.matcher("Some '' text").matches());
-    assertFalse(MessageFormatFormattingValidator.UNESCAPED_QUOTE_PATTERN.matcher("Some text''").matches());
-    assertFalse(MessageFormatFormattingValidator.UNESCAPED_QUOTE_PATTERN.matcher("''Some text").matches());
-    assertFalse(MessageFormatFormattingValidator.UNESCAPED_QUOTE_PATTERN.matcher("Some ''{0}'' text").matches());
-
-    assertTrue(MessageFormatFormattingValidator.UNESCAPED_QUOTE_PATTERN.matcher("Some ' text").matches());
-    assertTrue(MessageFormatFormattingValidator.UNESCAPED_QUOTE_PATTERN.matcher("Some text'").matches());
-    assertTrue(MessageFormatFormattingValidator.UNESCAPED_QUOTE_PATTERN.matcher("'Some text'").matches());
-    assertTrue(MessageFormatFormattingValidator.UNESCAPED_QUOTE_PATTERN.matcher("Some '' text '").matches());
+    assertFalse(MessageFormatScanner.hasUnescapedQuote("Some text"));
+    assertFalse(MessageFormatScanner.hasUnescapedQuote("Some '' text"));
+    assertFalse(MessageFormatScanner.hasUnescapedQuote("Some text''"));
+    assertFalse(MessageFormatScanner.hasUnescapedQuote("''Some text"));
+    assertFalse(MessageFormatScanner.hasUnescapedQuote("Some ''{0}'' text"));
+
+    assertTrue(MessageFormatScanner.hasUnescapedQuote("Some ' text"));
+    assertTrue(MessageFormatScanner.hasUnescapedQuote("Some text'"));
+    assertTrue(MessageFormatScanner.hasUnescapedQuote("'Some text'"));
+    assertTrue(MessageFormatScanner.hasUnescapedQuote("Some '' text '"));
   }
 
   @Test
   @Ignore("Case not supported yet")
   public void singleQuoteInParametricPatternShouldBeIgnored() {
-    assertFalse(MessageFormatFormattingValidator.UNESCAPED_QUOTE_PATTERN.matcher("date is {1,date,MM/dd/yyyy HH':'mm}").matches());
+    assertFalse(MessageFormatScanner.hasUnescapedQuote("date is {1,date,MM/dd/yyyy HH':'mm}"));
   }
 
   @Test
   @Ignore("Case not supported yet")
   public void singleQuoteShouldBeAnEscapeSequencePattern() {
-    assertFalse(MessageFormatFormattingValidator.UNESCAPED_QUOTE_PATTERN.matcher("Some 'quoted' text").matches());
+    assertFalse(MessageFormatScanner.hasUnescapedQuote("Some 'quoted' text"));
   }
 
   @Test